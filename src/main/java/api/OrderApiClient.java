@@ -0,0 +1,171 @@
+package api;
+
+import model.Order;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Клиент API заказов сервиса самокатов.
+ * <p>
+ * Позволяет создавать, искать и отменять заказы напрямую, без прохождения формы,
+ * для тестов, которым заказ нужен только как предусловие. Работает как с реальным сайтом,
+ * так и с заглушками локального сервера
+ */
+public class OrderApiClient {
+    private static final List<String> RENTAL_PERIODS = Arrays.asList(
+            "сутки", "двое суток", "трое суток", "четверо суток", "пятеро суток", "шестеро суток", "семеро суток");
+    private static final Pattern TRACK = Pattern.compile("\"track\"\\s*:\\s*(\\d+)");
+    private static final Pattern STATION_NUMBER = Pattern.compile("\"number\"\\s*:\\s*\"?(\\d+)\"?");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final String baseUrl;
+
+    /**
+     * @param baseUrl Адрес сайта без завершающего слэша
+     */
+    public OrderApiClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Создает заказ и возвращает его номер для отслеживания
+     */
+    public int createOrder(Order order) {
+        String body = "{"
+                + "\"firstName\":" + quote(order.getName())
+                + ",\"lastName\":" + quote(order.getSurname())
+                + ",\"address\":" + quote(order.getAddress())
+                + ",\"metroStation\":" + quote(findStationNumber(order.getMetroStation()))
+                + ",\"phone\":" + quote(order.getPhoneNumber())
+                + ",\"rentTime\":" + rentTime(order.getRentalPeriod())
+                + ",\"deliveryDate\":" + quote(isoDate(order.getDeliveryDate()))
+                + ",\"comment\":" + quote(order.getComment())
+                + ",\"color\":[" + quote(color(order.getScooterColor())) + "]"
+                + "}";
+        HttpResponse<String> response = send(request("/api/v1/orders")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+        expectStatus(response, 201);
+        return Integer.parseInt(match(TRACK, response.body(), "номер заказа"));
+    }
+
+    /**
+     * Возвращает заказ в виде JSON или пустое значение, если заказ не найден
+     */
+    public Optional<String> findOrder(int track) {
+        HttpResponse<String> response = send(request("/api/v1/orders/track?t=" + track).GET());
+        if (response.statusCode() == 404) {
+            return Optional.empty();
+        }
+        expectStatus(response, 200);
+        return Optional.of(response.body());
+    }
+
+    /**
+     * Отменяет заказ
+     */
+    public void cancelOrder(int track) {
+        HttpResponse<String> response = send(request("/api/v1/orders/cancel?track=" + track)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString("{\"track\":" + track + "}")));
+        expectStatus(response, 200);
+    }
+
+    private String findStationNumber(String station) {
+        HttpResponse<String> response = send(request("/api/v1/stations/search?s="
+                + URLEncoder.encode(station, StandardCharsets.UTF_8)).GET());
+        expectStatus(response, 200);
+        return match(STATION_NUMBER, response.body(), "станция метро " + station);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(this.baseUrl + path)).timeout(Duration.ofSeconds(10));
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) {
+        try {
+            return this.client.send(request.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("Запрос к API заказов не выполнен", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Запрос к API заказов прерван", e);
+        }
+    }
+
+    private static void expectStatus(HttpResponse<String> response, int expected) {
+        if (response.statusCode() != expected) {
+            throw new IllegalStateException(response.request().method() + " " + response.uri()
+                    + " вернул " + response.statusCode() + " вместо " + expected + ": " + response.body());
+        }
+    }
+
+    private static String match(Pattern pattern, String body, String what) {
+        Matcher matcher = pattern.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("В ответе API не найдена " + what + ": " + body);
+        }
+        return matcher.group(1);
+    }
+
+    private static int rentTime(String period) {
+        int index = RENTAL_PERIODS.indexOf(period);
+        if (index < 0) {
+            throw new IllegalArgumentException("Неизвестный срок аренды: " + period);
+        }
+        return index + 1;
+    }
+
+    private static String color(String color) {
+        switch (color) {
+            case "чёрный жемчуг": return "BLACK";
+            case "серая безысходность": return "GREY";
+            default: throw new IllegalArgumentException("Неизвестный цвет самоката: " + color);
+        }
+    }
+
+    /**
+     * Переводит дату из формата формы (дд.мм.гггг) в формат API (гггг-мм-дд)
+     */
+    private static String isoDate(String date) {
+        String[] parts = date.split("\\.");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Ожидалась дата в формате дд.мм.гггг: " + date);
+        }
+        return parts[2] + "-" + parts[1] + "-" + parts[0];
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"': quoted.append("\\\""); break;
+                case '\\': quoted.append("\\\\"); break;
+                case '\n': quoted.append("\\n"); break;
+                case '\r': quoted.append("\\r"); break;
+                case '\t': quoted.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
@@ -0,0 +1,225 @@
+package artifacts;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Материалы упавших тестов: снимок экрана, исходный код страницы и журнал консоли браузера.
+ * <p>
+ * В потоке теста снимаются только сырые данные, после чего сессию можно сразу вернуть в пул.
+ * Сжатие, устранение повторов и запись выполняются фоновыми потоками ({@code scooter.artifacts.threads},
+ * по умолчанию 2) с ограниченной очередью ({@code scooter.artifacts.queue}, по умолчанию 16): когда
+ * очередь заполнена, запись выполняет сам поток теста, что не дает памяти расти при массовых падениях.
+ * <p>
+ * Материалы пишутся в {@code scooter.artifacts.dir} (по умолчанию {@code target/artifacts}). Содержимое
+ * хранится один раз в {@code blobs/<SHA-256>} — одинаковые страницы при недоступности сайта не дублируются,
+ * а каталог теста содержит {@code failure.txt} с именем теста, его параметрами, ошибкой и ссылками на содержимое.
+ * Каталог называется по классу и методу теста с хэшем полного имени, так как параметры бывают на кириллице;
+ * соответствие полных имен каталогам записывается в {@code index.tsv}.
+ * Запись отключается свойством {@code scooter.artifacts=false}
+ */
+public final class FailureArtifacts {
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("scooter.artifacts", "true"));
+    private static final FailureArtifacts SHARED = new FailureArtifacts(
+            Paths.get(System.getProperty("scooter.artifacts.dir", "target/artifacts")),
+            Integer.getInteger("scooter.artifacts.threads", 2),
+            Integer.getInteger("scooter.artifacts.queue", 16)
+    );
+
+    private final Path directory;
+    private final ThreadPoolExecutor writer;
+    // Уже снятые падения: ошибка -> тесты, чтобы повторно брошенная тестом ошибка не снималась дважды
+    private final Map<Throwable, Set<String>> captured = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * @param directory Каталог материалов
+     * @param threads Число фоновых потоков записи
+     * @param queue Предельная длина очереди записи
+     */
+    FailureArtifacts(Path directory, int threads, int queue) {
+        this.directory = directory;
+        AtomicInteger counter = new AtomicInteger();
+        this.writer = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queue),
+                task -> {
+                    Thread thread = new Thread(task, "failure-artifacts-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.writer.allowCoreThreadTimeOut(true);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "failure-artifacts-flush"));
+    }
+
+    /**
+     * Возвращает общий для JVM экземпляр
+     */
+    public static FailureArtifacts shared() {
+        return SHARED;
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Снимает сырые данные сессии и ставит их запись в очередь.
+     * Повторный вызов для той же ошибки и того же теста ничего не делает
+     * @param driver Сессия упавшего теста
+     * @param testClass Имя класса теста
+     * @param testName Отображаемое имя теста, включая параметры
+     * @param error Причина падения
+     */
+    public void capture(WebDriver driver, String testClass, String testName, Throwable error) {
+        if (!this.captured.computeIfAbsent(error, key -> ConcurrentHashMap.newKeySet()).add(testClass + " " + testName)) {
+            return;
+        }
+        Instant time = Instant.now();
+        String url = safely(driver::getCurrentUrl);
+        byte[] screenshot = driver instanceof TakesScreenshot
+                ? safely(() -> ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES)) : null;
+        String source = safely(driver::getPageSource);
+        List<LogEntry> console = safely(() -> driver.manage().logs().get(LogType.BROWSER).getAll());
+        this.writer.execute(() -> write(testClass, testName, error, time, url, screenshot, source, console));
+    }
+
+    /**
+     * Дожидается записи всех поставленных в очередь материалов
+     */
+    public void flush() {
+        this.writer.shutdown();
+        try {
+            if (!this.writer.awaitTermination(1, TimeUnit.MINUTES)) {
+                System.err.println("Не все материалы упавших тестов записаны в " + this.directory);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(String testClass, String testName, Throwable error, Instant time, String url,
+                       byte[] screenshot, String source, List<LogEntry> console) {
+        try {
+            List<String> lines = new ArrayList<>();
+            lines.add("test: " + testClass + " " + testName);
+            lines.add("time: " + time);
+            lines.add("url: " + url);
+            if (screenshot != null) {
+                // PNG уже сжат, повторно не упаковывается
+                lines.add("screenshot: " + store(screenshot, ".png", false));
+            }
+            if (source != null) {
+                lines.add("source: " + store(source.getBytes(StandardCharsets.UTF_8), ".html.gz", true));
+            }
+            if (console != null) {
+                StringBuilder log = new StringBuilder();
+                for (LogEntry entry : console) {
+                    log.append(Instant.ofEpochMilli(entry.getTimestamp())).append(' ')
+                            .append(entry.getLevel()).append(' ').append(entry.getMessage()).append('\n');
+                }
+                lines.add("console: " + store(log.toString().getBytes(StandardCharsets.UTF_8), ".log.gz", true));
+            }
+            StringWriter stackTrace = new StringWriter();
+            error.printStackTrace(new PrintWriter(stackTrace));
+            lines.add("");
+            lines.add(stackTrace.toString());
+
+            String testDirectory = fileName(testClass) + "/" + fileName(testName.replaceFirst("\\[.*", ""))
+                    + "-" + sha256((testClass + " " + testName).getBytes(StandardCharsets.UTF_8)).substring(0, 10);
+            Files.createDirectories(this.directory.resolve(testDirectory));
+            Files.write(this.directory.resolve(testDirectory).resolve("failure.txt"), lines, StandardCharsets.UTF_8);
+            index(testClass + "\t" + testName + "\t" + testDirectory);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Не удалось записать материалы теста " + testName + ": " + e);
+        }
+    }
+
+    /**
+     * Сохраняет содержимое под именем его SHA-256, если такого еще нет, и возвращает путь относительно каталога материалов
+     */
+    private String store(byte[] content, String extension, boolean compress) throws IOException {
+        String name = "blobs/" + sha256(content) + extension;
+        Path blob = this.directory.resolve(name);
+        if (Files.exists(blob)) {
+            return name;
+        }
+        Files.createDirectories(blob.getParent());
+        Path temporary = Files.createTempFile(blob.getParent(), "blob", ".tmp");
+        try (OutputStream out = compress
+                ? new GZIPOutputStream(Files.newOutputStream(temporary, StandardOpenOption.TRUNCATE_EXISTING))
+                : Files.newOutputStream(temporary, StandardOpenOption.TRUNCATE_EXISTING)) {
+            out.write(content);
+        }
+        try {
+            Files.move(temporary, blob);
+        } catch (IOException e) {
+            // Такой же файл уже записал другой поток
+            Files.deleteIfExists(temporary);
+        }
+        return name;
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(content)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private synchronized void index(String line) throws IOException {
+        Files.write(this.directory.resolve("index.tsv"), Collections.singletonList(line), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static String fileName(String name) {
+        String safe = name.replaceAll("[^A-Za-z0-9._-]+", "_");
+        return safe.length() > 100 ? safe.substring(0, 100) : safe;
+    }
+
+    private static <T> T safely(Capture<T> capture) {
+        try {
+            return capture.get();
+        } catch (WebDriverException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Capture<T> {
+        T get();
+    }
+}
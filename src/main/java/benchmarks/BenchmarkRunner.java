@@ -0,0 +1,27 @@
+package benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Запускает бенчмарки страниц и сохраняет результаты в JSON для сравнения между версиями.
+ * <p>
+ * Запуск: {@code java benchmarks.BenchmarkRunner [файл результатов] [регулярное выражение бенчмарков]},
+ * по умолчанию {@code target/jmh-result.json} и все классы пакета
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws RunnerException {
+        String result = args.length > 0 ? args[0] : "target/jmh-result.json";
+        String include = args.length > 1 ? args[1] : BenchmarkRunner.class.getPackage().getName() + "\\..*Benchmark";
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result)
+                .build();
+        new Runner(options).run();
+    }
+}
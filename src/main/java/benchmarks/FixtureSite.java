@@ -0,0 +1,80 @@
+package benchmarks;
+
+import driver.DriverBinary;
+import driver.LaunchProfile;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import site.LocalSiteServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Локальная копия главной страницы и страницы заказа с запущенным браузером.
+ * <p>
+ * Фикстуры {@code fixtures/main.html} и {@code fixtures/order.html} раздаются встроенным сервером,
+ * браузер запускается в профиле {@code fast-ci}
+ */
+@State(Scope.Benchmark)
+public class FixtureSite {
+    public static final String MAIN_PAGE = "/main.html";
+    public static final String ORDER_PAGE = "/order.html";
+
+    private Path root;
+    private LocalSiteServer server;
+    private WebDriver driver;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        this.root = Files.createTempDirectory("scooter-fixtures");
+        copyFixture("main.html");
+        copyFixture("order.html");
+        this.server = new LocalSiteServer(this.root, 0);
+        this.server.start();
+
+        ChromeDriverService service = new ChromeDriverService.Builder()
+                .usingDriverExecutable(DriverBinary.path().toFile())
+                .usingAnyFreePort()
+                .build();
+        this.driver = new ChromeDriver(service, LaunchProfile.FAST_CI.options());
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        this.driver.quit();
+        this.server.stop();
+    }
+
+    /**
+     * Открывает страницу фикстуры и возвращает драйвер
+     */
+    public WebDriver open(String page) {
+        this.driver.get(this.server.getBaseUrl() + page);
+        return this.driver;
+    }
+
+    public WebDriver getDriver() {
+        return this.driver;
+    }
+
+    private void copyFixture(String name) {
+        try (InputStream in = FixtureSite.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Не найдена фикстура " + name);
+            }
+            Files.copy(in, this.root.resolve(name), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение стоимости поиска одних и тех же элементов XPath-, CSS- и id-локаторами.
+ * XPath-варианты совпадают с локаторами страниц
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocatorBenchmark {
+    private static final Map<String, String> PAGES = new HashMap<>();
+    private static final Map<String, By> LOCATORS = new HashMap<>();
+
+    static {
+        main("cookieButton.id", By.id("rcc-confirm-button"));
+        main("cookieButton.css", By.cssSelector("#rcc-confirm-button"));
+        main("cookieButton.xpath", By.xpath(".//button[@id='rcc-confirm-button']"));
+        main("sectionHeaders.className", By.className("accordion__heading"));
+        main("sectionHeaders.css", By.cssSelector(".accordion__heading"));
+        main("sectionHeaders.xpath", By.xpath(".//div[@class='accordion__heading']"));
+        main("headerOrderButton.xpath", By.xpath(".//div[starts-with(@class, 'Header_Nav')]//button[starts-with(@class, 'Button_Button')]"));
+        main("headerOrderButton.css", By.cssSelector("div[class^='Header_Nav'] button[class^='Button_Button']"));
+
+        order("nameField.xpath", By.xpath(".//div[starts-with(@class, 'Order_Form')]//input[contains(@placeholder,'Имя')]"));
+        order("nameField.css", By.cssSelector("div[class^='Order_Form'] input[placeholder*='Имя']"));
+        order("blackColor.xpath", By.xpath(".//div[starts-with(@class, 'Order_Checkboxes')]//input[@id='black']"));
+        order("blackColor.css", By.cssSelector("#black"));
+        order("blackColor.id", By.id("black"));
+        order("orderButton.xpath", By.xpath(".//div[starts-with(@class, 'Order_Buttons')]/button[not(contains(@class,'Button_Inverted'))]"));
+        order("orderButton.css", By.cssSelector("div[class^='Order_Buttons'] > button:not([class*='Button_Inverted'])"));
+    }
+
+    @Param({
+            "cookieButton.id", "cookieButton.css", "cookieButton.xpath",
+            "sectionHeaders.className", "sectionHeaders.css", "sectionHeaders.xpath",
+            "headerOrderButton.xpath", "headerOrderButton.css",
+            "nameField.xpath", "nameField.css",
+            "blackColor.xpath", "blackColor.css", "blackColor.id",
+            "orderButton.xpath", "orderButton.css"
+    })
+    public String locator;
+
+    private WebDriver driver;
+    private By by;
+
+    @Setup(Level.Trial)
+    public void open(FixtureSite site) {
+        this.driver = site.open(PAGES.get(this.locator));
+        this.by = LOCATORS.get(this.locator);
+        if (this.driver.findElements(this.by).isEmpty()) {
+            throw new IllegalStateException("Локатор " + this.locator + " ничего не находит на фикстуре");
+        }
+    }
+
+    @Benchmark
+    public int findElements() {
+        return this.driver.findElements(this.by).size();
+    }
+
+    private static void main(String name, By by) {
+        PAGES.put(name, FixtureSite.MAIN_PAGE);
+        LOCATORS.put(name, by);
+    }
+
+    private static void order(String name, By by) {
+        PAGES.put(name, FixtureSite.ORDER_PAGE);
+        LOCATORS.put(name, by);
+    }
+}
@@ -0,0 +1,85 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+import pageObjects.MainPage;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Задержка операций {@link MainPage} на локальной копии главной страницы
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MainPageBenchmark {
+    private static final int SECTION = 3;
+
+    private WebDriver driver;
+    private MainPage mainPage;
+
+    @Setup(Level.Trial)
+    public void open(FixtureSite site) {
+        this.driver = site.open(FixtureSite.MAIN_PAGE);
+        this.mainPage = new MainPage(this.driver);
+        this.mainPage.expandSection(SECTION);
+    }
+
+    @Benchmark
+    public String getSectionHeaderText() {
+        return this.mainPage.getSectionHeaderText(SECTION);
+    }
+
+    /**
+     * То же чтение на новой странице без закэшированных элементов
+     */
+    @Benchmark
+    public String getSectionHeaderTextUncached() {
+        return new MainPage(this.driver).getSectionHeaderText(SECTION);
+    }
+
+    @Benchmark
+    public String getSectionContent() {
+        return this.mainPage.getSectionContent(SECTION);
+    }
+
+    @Benchmark
+    public boolean isSectionContentVisible() {
+        return this.mainPage.isSectionContentVisible(SECTION);
+    }
+
+    @Benchmark
+    public void expandAndWaitForSection() {
+        this.mainPage.expandSection(SECTION);
+        this.mainPage.waitForSectionContent(SECTION);
+    }
+
+    @Benchmark
+    public List<MainPage.Section> readAllSections() {
+        return this.mainPage.readAllSections();
+    }
+
+    @Benchmark
+    public String getYandexLogoUrl() {
+        return this.mainPage.getYandexLogoUrl();
+    }
+
+    @Benchmark
+    public boolean isYandexLinkOpensInNewTab() {
+        return this.mainPage.isYandexLinkOpensInNewTab();
+    }
+}
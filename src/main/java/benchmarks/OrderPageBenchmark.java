@@ -0,0 +1,59 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pageObjects.OrderPage;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Задержка операций {@link OrderPage} на локальной копии страницы заказа
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderPageBenchmark {
+    private OrderPage orderPage;
+
+    @Setup(Level.Trial)
+    public void open(FixtureSite site) {
+        this.orderPage = new OrderPage(site.open(FixtureSite.ORDER_PAGE));
+    }
+
+    @Benchmark
+    public void waitForFormToLoad() {
+        this.orderPage.waitForFormToLoad();
+    }
+
+    @Benchmark
+    public void enterName() {
+        this.orderPage.enterName("a");
+    }
+
+    @Benchmark
+    public void selectRentalPeriod() {
+        this.orderPage.selectRentalPeriod("трое суток");
+    }
+
+    @Benchmark
+    public void chooseScooterColor() {
+        this.orderPage.chooseScooterColor("чёрный жемчуг");
+    }
+
+    @Benchmark
+    public String getOrderConfirmationMessage() {
+        return this.orderPage.getOrderConfirmationMessage();
+    }
+}
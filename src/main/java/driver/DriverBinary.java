@@ -0,0 +1,103 @@
+package driver;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Однократно на JVM определяет исполняемый файл chromedriver.
+ * <p>
+ * Порядок поиска: явно заданное свойство {@code webdriver.chrome.driver},
+ * затем закрепленный бинарник из каталога {@code scooter.driver.dir} с проверкой контрольной суммы,
+ * и только после этого загрузка через WebDriverManager (запрещена при {@code scooter.driver.offline=true})
+ */
+public final class DriverBinary {
+    private static final String DRIVER_PROPERTY = "webdriver.chrome.driver";
+    private static final String BINARY_NAME = System.getProperty("os.name").startsWith("Windows")
+            ? "chromedriver.exe" : "chromedriver";
+
+    private DriverBinary() {
+    }
+
+    /**
+     * Возвращает путь к chromedriver, при первом вызове выполняя поиск
+     */
+    public static Path path() {
+        return Holder.PATH;
+    }
+
+    private static Path resolve() {
+        String configured = System.getProperty(DRIVER_PROPERTY);
+        if (configured != null && Files.isExecutable(Paths.get(configured))) {
+            return Paths.get(configured);
+        }
+
+        Path directory = Paths.get(System.getProperty("scooter.driver.dir", "drivers"));
+        Path binary = directory.resolve(BINARY_NAME);
+        if (Files.isExecutable(binary)) {
+            verifyChecksum(binary, directory.resolve(BINARY_NAME + ".sha256"));
+            System.setProperty(DRIVER_PROPERTY, binary.toAbsolutePath().toString());
+            return binary;
+        }
+
+        if (Boolean.getBoolean("scooter.driver.offline")) {
+            throw new IllegalStateException("Не найден chromedriver в каталоге " + directory.toAbsolutePath()
+                    + ", а загрузка отключена свойством scooter.driver.offline");
+        }
+        WebDriverManager.chromedriver().setup();
+        return Paths.get(System.getProperty(DRIVER_PROPERTY));
+    }
+
+    /**
+     * Сверяет SHA-256 бинарника со значением из файла (формат вывода sha256sum)
+     * или из свойства {@code scooter.driver.sha256}
+     */
+    private static void verifyChecksum(Path binary, Path checksumFile) {
+        try {
+            String expected = System.getProperty("scooter.driver.sha256");
+            if (expected == null && Files.exists(checksumFile)) {
+                expected = new String(Files.readAllBytes(checksumFile), StandardCharsets.UTF_8).trim().split("\\s+")[0];
+            }
+            if (expected == null) {
+                throw new IllegalStateException("Для " + binary.toAbsolutePath()
+                        + " не задана контрольная сумма: ожидается файл " + checksumFile.getFileName());
+            }
+            String actual = sha256(binary);
+            if (!actual.equalsIgnoreCase(expected)) {
+                throw new IllegalStateException("Контрольная сумма " + binary.toAbsolutePath()
+                        + " не совпадает: ожидалась " + expected + ", получена " + actual);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Не удалось проверить " + binary.toAbsolutePath(), e);
+        }
+    }
+
+    private static String sha256(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Holder {
+        private static final Path PATH = resolve();
+    }
+}
@@ -0,0 +1,210 @@
+package driver;
+
+import metrics.CommandMetrics;
+import metrics.InstrumentedDriver;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import runner.TestContext;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+
+/**
+ * Пул переиспользуемых сессий браузера.
+ * Выдает тестам уже запущенные сессии и сбрасывает их состояние между арендами
+ */
+public final class DriverPool {
+    private static final DriverPool SHARED = new DriverPool(
+            Integer.getInteger("scooter.pool.maxIdle", Runtime.getRuntime().availableProcessors()),
+            Integer.getInteger("scooter.pool.maxReuse", 25),
+            System.getProperty("scooter.pool.seedCookies", "Cartoshka=true"),
+            LaunchProfile.current()
+    );
+
+    private final int maxIdle;
+    private final int maxReuse;
+    private final List<Cookie> seedCookies;
+    private final LaunchProfile profile;
+    private final Deque<Session> idle = new LinkedBlockingDeque<>();
+    private final Map<WebDriver, Session> leased = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxIdle Максимальное число простаивающих сессий
+     * @param maxReuse Число аренд, после которого сессия пересоздается
+     * @param seedCookies Cookies, восстанавливаемые после сброса, в формате "имя=значение;имя=значение"
+     * @param profile Профиль запуска новых сессий
+     */
+    DriverPool(int maxIdle, int maxReuse, String seedCookies, LaunchProfile profile) {
+        this.maxIdle = maxIdle;
+        this.maxReuse = maxReuse;
+        this.seedCookies = parseCookies(seedCookies);
+        this.profile = profile;
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "driver-pool-shutdown"));
+    }
+
+    /**
+     * Возвращает общий для JVM пул
+     */
+    public static DriverPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Создает отдельный пул с заданным профилем, сессии которого не пересоздаются по числу аренд
+     */
+    public static DriverPool withProfile(int maxIdle, LaunchProfile profile) {
+        return new DriverPool(maxIdle, Integer.MAX_VALUE,
+                System.getProperty("scooter.pool.seedCookies", "Cartoshka=true"), profile);
+    }
+
+    /**
+     * Выдает исправную сессию из пула или запускает новую
+     */
+    public WebDriver lease() {
+        Session session;
+        while ((session = this.idle.pollFirst()) != null) {
+            if (isHealthy(session.driver)) {
+                break;
+            }
+            quietQuit(session.driver);
+        }
+        if (session == null) {
+            session = new Session(createDriver());
+        }
+        session.uses++;
+        this.leased.put(session.driver, session);
+        return session.driver;
+    }
+
+    /**
+     * Возвращает сессию в пул. Сессия сбрасывается либо закрывается,
+     * если она исчерпала лимит переиспользования или не пережила сброс
+     */
+    public void release(WebDriver driver) {
+        Session session = this.leased.remove(driver);
+        if (session == null) {
+            quietQuit(driver);
+            return;
+        }
+        if (session.uses >= this.maxReuse || this.idle.size() >= this.maxIdle || !reset(driver)) {
+            quietQuit(driver);
+            return;
+        }
+        this.idle.offerFirst(session);
+    }
+
+    /**
+     * Закрывает простаивающие сессии сверх указанного числа, освобождая память
+     */
+    public void trimIdle(int keep) {
+        Session session;
+        while (this.idle.size() > keep && (session = this.idle.pollLast()) != null) {
+            quietQuit(session.driver);
+        }
+    }
+
+    /**
+     * Закрывает все сессии пула
+     */
+    public void shutdown() {
+        Session session;
+        while ((session = this.idle.pollFirst()) != null) {
+            quietQuit(session.driver);
+        }
+        for (WebDriver driver : new ArrayList<>(this.leased.keySet())) {
+            this.leased.remove(driver);
+            quietQuit(driver);
+        }
+    }
+
+    private WebDriver createDriver() {
+        ChromeDriverService service = new ChromeDriverService.Builder()
+                .usingDriverExecutable(DriverBinary.path().toFile())
+                .usingAnyFreePort()
+                .build();
+        long start = System.nanoTime();
+        WebDriver driver = new ChromeDriver(service, this.profile.options());
+        if (CommandMetrics.isEnabled()) {
+            CommandMetrics.record(TestContext.currentName(), "newSession", "DriverPool.lease", System.nanoTime() - start);
+        }
+        return InstrumentedDriver.wrap(driver);
+    }
+
+    /**
+     * Приводит сессию к исходному состоянию: одна вкладка, пустые cookies и хранилища,
+     * восстановленные известные cookies (например, принятый баннер) и пустая страница
+     */
+    private boolean reset(WebDriver driver) {
+        try {
+            closeExtraWindows(driver);
+            if (driver.getCurrentUrl().startsWith("http")) {
+                driver.manage().deleteAllCookies();
+                ((JavascriptExecutor) driver).executeScript(
+                        "window.localStorage.clear(); window.sessionStorage.clear();");
+                for (Cookie cookie : this.seedCookies) {
+                    driver.manage().addCookie(cookie);
+                }
+            }
+            driver.get("about:blank");
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private void closeExtraWindows(WebDriver driver) {
+        Set<String> handles = driver.getWindowHandles();
+        String first = handles.iterator().next();
+        for (String handle : handles) {
+            if (!handle.equals(first)) {
+                driver.switchTo().window(handle).close();
+            }
+        }
+        driver.switchTo().window(first);
+    }
+
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            return !driver.getWindowHandles().isEmpty();
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private static void quietQuit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException ignored) {
+            // Сессия уже недоступна
+        }
+    }
+
+    private static List<Cookie> parseCookies(String value) {
+        List<Cookie> cookies = new ArrayList<>();
+        for (String pair : value.split(";")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                cookies.add(new Cookie(pair.substring(0, separator).trim(), pair.substring(separator + 1).trim()));
+            }
+        }
+        return cookies;
+    }
+
+    private static final class Session {
+        private final WebDriver driver;
+        private int uses;
+
+        private Session(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+}
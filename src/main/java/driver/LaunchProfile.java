@@ -0,0 +1,125 @@
+package driver;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Профили запуска браузера.
+ * <p>
+ * Профиль выбирается свойством {@code scooter.profile} и применяется ко всем сессиям пула:
+ * <ul>
+ *     <li>{@code fast-ci} — без окна, загрузка до DOMContentLoaded, без картинок, расширений, GPU
+ *     и запросов к посторонним хостам из списка блокировки;</li>
+ *     <li>{@code faithful} — без окна, но с полной загрузкой страницы и всех ресурсов;</li>
+ *     <li>{@code debug} — обычный браузер с окном, как при ручной проверке (по умолчанию).</li>
+ * </ul>
+ * Список блокировки дополняется свойством {@code scooter.blocklist} (хосты через запятую)
+ */
+public enum LaunchProfile {
+    FAST_CI("fast-ci") {
+        @Override
+        void configure(ChromeOptions options) {
+            options.setHeadless(true);
+            options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+            options.addArguments(
+                    "--disable-extensions",
+                    "--disable-gpu",
+                    "--disable-dev-shm-usage",
+                    "--window-size=1920,1080",
+                    "--blink-settings=imagesEnabled=false",
+                    hostResolverRules()
+            );
+        }
+    },
+    FAITHFUL("faithful") {
+        @Override
+        void configure(ChromeOptions options) {
+            options.setHeadless(true);
+            options.setPageLoadStrategy(PageLoadStrategy.NORMAL);
+            options.addArguments("--disable-extensions", "--disable-gpu", "--window-size=1920,1080");
+        }
+    },
+    DEBUG("debug") {
+        @Override
+        void configure(ChromeOptions options) {
+            options.setPageLoadStrategy(PageLoadStrategy.NORMAL);
+        }
+    };
+
+    // Хосты аналитики и шрифтов, не влияющие на проверки
+    private static final List<String> DEFAULT_BLOCKLIST = Arrays.asList(
+            "mc.yandex.ru",
+            "an.yandex.ru",
+            "yastatic.net",
+            "fonts.googleapis.com",
+            "fonts.gstatic.com",
+            "www.google-analytics.com",
+            "www.googletagmanager.com"
+    );
+
+    private final String id;
+
+    LaunchProfile(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Возвращает профиль, выбранный для текущего запуска
+     */
+    public static LaunchProfile current() {
+        return byId(System.getProperty("scooter.profile", DEBUG.id));
+    }
+
+    /**
+     * Возвращает профиль по имени
+     */
+    public static LaunchProfile byId(String id) {
+        for (LaunchProfile profile : values()) {
+            if (profile.id.equals(id)) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестный профиль запуска: " + id);
+    }
+
+    /**
+     * Создает настройки браузера для профиля
+     */
+    public ChromeOptions options() {
+        ChromeOptions options = new ChromeOptions();
+        // Журнал консоли нужен для материалов упавших тестов
+        LoggingPreferences logging = new LoggingPreferences();
+        logging.enable(LogType.BROWSER, Level.ALL);
+        options.setCapability("goog:loggingPrefs", logging);
+        configure(options);
+        return options;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    abstract void configure(ChromeOptions options);
+
+    private static String hostResolverRules() {
+        List<String> hosts = new ArrayList<>(DEFAULT_BLOCKLIST);
+        String extra = System.getProperty("scooter.blocklist", "");
+        for (String host : extra.split(",")) {
+            if (!host.trim().isEmpty()) {
+                hosts.add(host.trim());
+            }
+        }
+        List<String> rules = new ArrayList<>();
+        for (String host : hosts) {
+            rules.add("MAP " + host + " ~NOTFOUND");
+        }
+        return "--host-resolver-rules=" + String.join(", ", rules);
+    }
+}
@@ -0,0 +1,130 @@
+package load;
+
+import metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Результаты нагрузочного прогона: гистограммы задержек и число ошибок по шагам,
+ * число успешных и неуспешных заказов и пропускная способность
+ */
+public class LoadReport {
+    private final Map<String, LatencyHistogram> latencies = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> errors = new LinkedHashMap<>();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile long elapsedNanos;
+
+    /**
+     * @param steps Имена шагов в порядке выполнения
+     */
+    public LoadReport(String... steps) {
+        for (String step : steps) {
+            this.latencies.put(step, new LatencyHistogram());
+            this.errors.put(step, new AtomicLong());
+        }
+    }
+
+    void recordStep(String step, long nanos) {
+        this.latencies.get(step).record(nanos);
+    }
+
+    void recordError(String step) {
+        this.errors.get(step).incrementAndGet();
+        this.failed.incrementAndGet();
+    }
+
+    void recordCompleted() {
+        this.completed.incrementAndGet();
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getCompleted() {
+        return this.completed.get();
+    }
+
+    public long getFailed() {
+        return this.failed.get();
+    }
+
+    /**
+     * Доля неуспешных заказов от 0 до 1
+     */
+    public double getErrorRate() {
+        long total = getCompleted() + getFailed();
+        return total == 0 ? 0 : (double) getFailed() / total;
+    }
+
+    /**
+     * Число успешных заказов в секунду
+     */
+    public double getThroughput() {
+        return this.elapsedNanos == 0 ? 0 : getCompleted() / (this.elapsedNanos / 1_000_000_000.0);
+    }
+
+    /**
+     * Выводит сводку в текстовом виде
+     */
+    public void print(PrintStream out) {
+        out.println(String.format(Locale.ROOT, "Заказов: %d успешно, %d с ошибкой (%.2f%%), %.2f заказа/с за %.1f с",
+                getCompleted(), getFailed(), getErrorRate() * 100, getThroughput(), this.elapsedNanos / 1e9));
+        out.println(String.format(Locale.ROOT, "%-12s %8s %10s %10s %10s %10s %8s",
+                "шаг", "число", "p50, мс", "p95, мс", "p99, мс", "max, мс", "ошибок"));
+        for (Map.Entry<String, LatencyHistogram> entry : this.latencies.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            out.println(String.format(Locale.ROOT, "%-12s %8d %10.1f %10.1f %10.1f %10.1f %8d",
+                    entry.getKey(), histogram.getCount(), histogram.percentileMillis(50),
+                    histogram.percentileMillis(95), histogram.percentileMillis(99), histogram.getMaxMillis(),
+                    this.errors.get(entry.getKey()).get()));
+        }
+    }
+
+    /**
+     * Записывает отчет {@code load.json} в каталог
+     */
+    public void write(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            try (Writer json = Files.newBufferedWriter(directory.resolve("load.json"), StandardCharsets.UTF_8)) {
+                json.write("{\n  \"completed\": " + getCompleted()
+                        + ",\n  \"failed\": " + getFailed()
+                        + ",\n  \"errorRate\": " + format(getErrorRate())
+                        + ",\n  \"throughputPerSecond\": " + format(getThroughput())
+                        + ",\n  \"elapsedSeconds\": " + format(this.elapsedNanos / 1e9)
+                        + ",\n  \"steps\": [\n");
+                boolean first = true;
+                for (Map.Entry<String, LatencyHistogram> entry : this.latencies.entrySet()) {
+                    LatencyHistogram histogram = entry.getValue();
+                    json.write((first ? "" : ",\n") + "    {\"step\": \"" + entry.getKey()
+                            + "\", \"count\": " + histogram.getCount()
+                            + ", \"errors\": " + this.errors.get(entry.getKey()).get()
+                            + ", \"p50Ms\": " + format(histogram.percentileMillis(50))
+                            + ", \"p95Ms\": " + format(histogram.percentileMillis(95))
+                            + ", \"p99Ms\": " + format(histogram.percentileMillis(99))
+                            + ", \"maxMs\": " + format(histogram.getMaxMillis()) + "}");
+                    first = false;
+                }
+                json.write("\n  ]\n}\n");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
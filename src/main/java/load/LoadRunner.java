@@ -0,0 +1,189 @@
+package load;
+
+import driver.DriverPool;
+import driver.LaunchProfile;
+import model.Order;
+import org.openqa.selenium.WebDriver;
+import pageObjects.OrderPage;
+import site.Site;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Нагрузочный прогон оформления заказов через {@link OrderPage}.
+ * <p>
+ * Запуск: {@code java load.LoadRunner <файл заказов>}. Заказы читаются из файла по одному
+ * (см. {@link OrderCsvReader}) и оформляются в {@code scooter.load.users} параллельных сессиях
+ * профиля {@code fast-ci} (по умолчанию 4) с целевой частотой {@code scooter.load.rate} заказов
+ * в секунду (по умолчанию 1, {@code 0} — без ограничения). Прогон заканчивается вместе с файлом
+ * или после {@code scooter.load.maxOrders} заказов. Отчет пишется в {@code scooter.load.dir}
+ * (по умолчанию {@code target/load}); адрес сайта выбирается так же, как в тестах ({@link Site}),
+ * поэтому с {@code -Dscooter.site=local} нагрузка идет на локальную копию сайта с заглушками API.
+ * <p>
+ * Задержка заказа целиком ({@code order}) отсчитывается от запланированного момента старта,
+ * поэтому учитывает ожидание свободной сессии, когда сессий не хватает для целевой частоты.
+ * Если сессию не удалось получить ({@code session}), заказ считается неуспешным, а прогон продолжается
+ */
+public class LoadRunner {
+    static final String SESSION = "session";
+    static final String FORM_LOAD = "formLoad";
+    static final String CUSTOMER = "customer";
+    static final String METRO_SELECT = "metroSelect";
+    static final String RENTAL = "rental";
+    static final String CONFIRM = "confirm";
+    static final String ORDER = "order";
+    private static final String EXPECTED_SUCCESS_MESSAGE = "Заказ оформлен";
+
+    private final String baseUrl;
+    private final int users;
+    private final double rate;
+    private final long maxOrders;
+
+    /**
+     * @param baseUrl Адрес сайта
+     * @param users Число параллельных сессий
+     * @param rate Целевая частота заказов в секунду или 0 без ограничения
+     * @param maxOrders Предельное число заказов
+     */
+    public LoadRunner(String baseUrl, int users, double rate, long maxOrders) {
+        this.baseUrl = baseUrl;
+        this.users = users;
+        this.rate = rate;
+        this.maxOrders = maxOrders;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Использование: LoadRunner <файл заказов>");
+            System.exit(2);
+        }
+        LoadRunner runner = new LoadRunner(
+                Site.baseUrl(),
+                Integer.getInteger("scooter.load.users", 4),
+                Double.parseDouble(System.getProperty("scooter.load.rate", "1")),
+                Long.getLong("scooter.load.maxOrders", Long.MAX_VALUE)
+        );
+        LoadReport report;
+        try (OrderCsvReader orders = new OrderCsvReader(Paths.get(args[0]))) {
+            report = runner.run(orders);
+        }
+        Path directory = Paths.get(System.getProperty("scooter.load.dir", "target/load"));
+        report.print(System.out);
+        report.write(directory);
+        System.exit(report.getFailed() == 0 ? 0 : 1);
+    }
+
+    /**
+     * Оформляет заказы из источника и возвращает результаты прогона
+     */
+    public LoadReport run(OrderCsvReader orders) throws InterruptedException {
+        LoadReport report = new LoadReport(SESSION, FORM_LOAD, CUSTOMER, METRO_SELECT, RENTAL, CONFIRM, ORDER);
+        DriverPool pool = DriverPool.withProfile(this.users, LaunchProfile.FAST_CI);
+        long intervalNanos = this.rate > 0 ? (long) (1_000_000_000L / this.rate) : 0;
+        long start = System.nanoTime();
+        AtomicLong nextSlot = new AtomicLong(start);
+        AtomicLong started = new AtomicLong();
+
+        ExecutorService workers = Executors.newFixedThreadPool(this.users);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < this.users; i++) {
+                futures.add(workers.submit(() -> {
+                    Order order;
+                    while (started.incrementAndGet() <= this.maxOrders && (order = orders.next()) != null) {
+                        long slot = nextSlot.getAndAdd(intervalNanos);
+                        sleepUntil(slot);
+                        long leaseStart = System.nanoTime();
+                        WebDriver driver;
+                        try {
+                            driver = pool.lease();
+                        } catch (RuntimeException | LinkageError e) {
+                            // Браузер не запустился, сессия не создалась или драйвер браузера не загрузился
+                            // (ошибка инициализации DriverBinary) — это ошибка одного заказа
+                            report.recordError(SESSION);
+                            continue;
+                        }
+                        report.recordStep(SESSION, System.nanoTime() - leaseStart);
+                        try {
+                            placeOrder(driver, order, slot, report);
+                        } finally {
+                            pool.release(driver);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Сбой потока нагрузки", e.getCause());
+                }
+            }
+        } finally {
+            workers.shutdownNow();
+            workers.awaitTermination(1, TimeUnit.MINUTES);
+            pool.shutdown();
+        }
+        report.setElapsedNanos(System.nanoTime() - start);
+        return report;
+    }
+
+    private void placeOrder(WebDriver driver, Order order, long scheduled, LoadReport report) {
+        OrderPage orderPage = new OrderPage(driver);
+        String step = FORM_LOAD;
+        try {
+            long stepStart = System.nanoTime();
+            driver.get(this.baseUrl + "/order");
+            orderPage.waitForFormToLoad();
+            stepStart = finishStep(report, step, stepStart);
+
+            step = CUSTOMER;
+            orderPage.fillCustomerFields(order);
+            stepStart = finishStep(report, step, stepStart);
+
+            step = METRO_SELECT;
+            orderPage.confirmMetroStation(order.getMetroStation());
+            stepStart = finishStep(report, step, stepStart);
+
+            step = RENTAL;
+            orderPage.clickContinueButton();
+            orderPage.fillRentalStep(order);
+            stepStart = finishStep(report, step, stepStart);
+
+            step = CONFIRM;
+            orderPage.confirmOrder();
+            if (!orderPage.getOrderConfirmationMessage().contains(EXPECTED_SUCCESS_MESSAGE)) {
+                throw new IllegalStateException("Нет подтверждения заказа");
+            }
+            finishStep(report, step, stepStart);
+
+            report.recordStep(ORDER, System.nanoTime() - scheduled);
+            report.recordCompleted();
+        } catch (RuntimeException e) {
+            report.recordError(step);
+        }
+    }
+
+    private static long finishStep(LoadReport report, String step, long stepStart) {
+        long now = System.nanoTime();
+        report.recordStep(step, now - stepStart);
+        return now;
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long delay = nanoTime - System.nanoTime();
+        if (delay > 0) {
+            TimeUnit.NANOSECONDS.sleep(delay);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package load;
+
+import model.Order;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Построчно читает данные заказов из файла, не загружая его в память целиком.
+ * <p>
+ * Формат строки: девять полей через точку с запятой в порядке конструктора {@link Order}
+ * (имя; фамилия; адрес; станция метро; телефон; дата; срок аренды; цвет; комментарий).
+ * Пустые строки, строки с {@code #} и заголовок, начинающийся с {@code name;}, пропускаются
+ */
+public class OrderCsvReader implements Closeable {
+    private static final int COLUMNS = 9;
+
+    private final BufferedReader reader;
+    private long lineNumber;
+
+    public OrderCsvReader(Path file) throws IOException {
+        this.reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Возвращает следующий заказ или {@code null}, если файл закончился.
+     * Может вызываться из нескольких потоков
+     */
+    public synchronized Order next() {
+        try {
+            String line;
+            while ((line = this.reader.readLine()) != null) {
+                this.lineNumber++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#") || trimmed.startsWith("name;")) {
+                    continue;
+                }
+                String[] columns = line.split(";", -1);
+                if (columns.length != COLUMNS) {
+                    throw new IllegalArgumentException("Строка " + this.lineNumber + ": ожидалось " + COLUMNS
+                            + " полей, получено " + columns.length);
+                }
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i] = columns[i].trim();
+                }
+                return new Order(columns[0], columns[1], columns[2], columns[3], columns[4],
+                        columns[5], columns[6], columns[7], columns[8]);
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+}
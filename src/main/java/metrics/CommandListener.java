@@ -0,0 +1,13 @@
+package metrics;
+
+/**
+ * Получает команды WebDriver, выполняемые через {@link InstrumentedDriver}
+ */
+public interface CommandListener {
+    /**
+     * Вызывается в потоке команды перед ее выполнением
+     * @param command Тип команды (например, findElement или executeScript)
+     * @param arguments Аргументы команды без оберток или {@code null}
+     */
+    void beforeCommand(String command, Object[] arguments);
+}
@@ -0,0 +1,160 @@
+package metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Сводка длительностей команд WebDriver.
+ * <p>
+ * Включается свойством {@code scooter.metrics=true}; по умолчанию выключена, и драйверы не оборачиваются.
+ * Каждая команда попадает в гистограммы по типу команды, по тесту и команде, а также по вызвавшему методу страницы.
+ * При завершении JVM отчет записывается в {@code scooter.metrics.dir} (по умолчанию {@code target/metrics})
+ * в виде {@code commands.json} и {@code commands.csv}
+ */
+public final class CommandMetrics {
+    private static final boolean ENABLED = Boolean.getBoolean("scooter.metrics");
+    private static final Map<String, LatencyHistogram> BY_COMMAND = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> BY_TEST = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> BY_CALLER = new ConcurrentHashMap<>();
+    // Команды, длительность которых определяется страницей или ожиданием, а не нагрузкой на браузер
+    private static final Set<String> NOT_LATENCY = new HashSet<>(Arrays.asList(
+            "get", "executeAsyncScript", "newSession", "quit", "close"));
+    private static volatile boolean watched;
+    private static volatile LatencyHistogram window = new LatencyHistogram();
+
+    static {
+        if (ENABLED) {
+            Path directory = Paths.get(System.getProperty("scooter.metrics.dir", "target/metrics"));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> write(directory), "command-metrics-report"));
+        }
+    }
+
+    private CommandMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Включает сбор задержек команд для {@link #drainWindow()} даже без отчета
+     */
+    public static void watchLatency() {
+        watched = true;
+    }
+
+    /**
+     * Нужно ли оборачивать драйверы для замеров
+     */
+    public static boolean isCollecting() {
+        return ENABLED || watched;
+    }
+
+    /**
+     * Возвращает задержки быстрых команд (без переходов и асинхронных ожиданий) с прошлого вызова
+     */
+    public static LatencyHistogram drainWindow() {
+        LatencyHistogram drained = window;
+        window = new LatencyHistogram();
+        return drained;
+    }
+
+    /**
+     * Записывает длительность команды
+     * @param test Имя теста
+     * @param command Тип команды (например, findElement или click)
+     * @param caller Метод страницы, выполнивший команду, или "-"
+     */
+    public static void record(String test, String command, String caller, long nanos) {
+        if (watched && !NOT_LATENCY.contains(command)) {
+            window.record(nanos);
+        }
+        if (!ENABLED) {
+            return;
+        }
+        BY_COMMAND.computeIfAbsent(command, key -> new LatencyHistogram()).record(nanos);
+        BY_TEST.computeIfAbsent(test + " " + command, key -> new LatencyHistogram()).record(nanos);
+        BY_CALLER.computeIfAbsent(caller + " " + command, key -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Возвращает гистограмму по типу команды или {@code null}, если таких команд не было
+     */
+    public static LatencyHistogram command(String command) {
+        return BY_COMMAND.get(command);
+    }
+
+    /**
+     * Возвращает гистограммы по всем типам команд
+     */
+    public static Map<String, LatencyHistogram> commands() {
+        return new TreeMap<>(BY_COMMAND);
+    }
+
+    /**
+     * Записывает отчет в каталог
+     */
+    public static void write(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            try (Writer json = Files.newBufferedWriter(directory.resolve("commands.json"), StandardCharsets.UTF_8);
+                 Writer csv = Files.newBufferedWriter(directory.resolve("commands.csv"), StandardCharsets.UTF_8)) {
+                csv.write("scope,key,count,totalMs,p50Ms,p95Ms,p99Ms,maxMs\n");
+                json.write("[\n");
+                boolean first = true;
+                for (Map.Entry<String, Map<String, LatencyHistogram>> scope : scopes().entrySet()) {
+                    for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(scope.getValue()).entrySet()) {
+                        LatencyHistogram histogram = entry.getValue();
+                        String[] values = {
+                                Long.toString(histogram.getCount()),
+                                format(histogram.getTotalMillis()),
+                                format(histogram.percentileMillis(50)),
+                                format(histogram.percentileMillis(95)),
+                                format(histogram.percentileMillis(99)),
+                                format(histogram.getMaxMillis())
+                        };
+                        csv.write(scope.getKey() + ",\"" + entry.getKey().replace("\"", "\"\"") + "\","
+                                + String.join(",", values) + "\n");
+                        json.write((first ? "" : ",\n") + "  {\"scope\": \"" + scope.getKey()
+                                + "\", \"key\": \"" + escape(entry.getKey())
+                                + "\", \"count\": " + values[0] + ", \"totalMs\": " + values[1]
+                                + ", \"p50Ms\": " + values[2] + ", \"p95Ms\": " + values[3]
+                                + ", \"p99Ms\": " + values[4] + ", \"maxMs\": " + values[5] + "}");
+                        first = false;
+                    }
+                }
+                json.write("\n]\n");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Map<String, Map<String, LatencyHistogram>> scopes() {
+        Map<String, Map<String, LatencyHistogram>> scopes = new TreeMap<>();
+        scopes.put("command", BY_COMMAND);
+        scopes.put("test", BY_TEST);
+        scopes.put("caller", BY_CALLER);
+        return scopes;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
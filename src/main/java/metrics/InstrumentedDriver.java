@@ -0,0 +1,154 @@
+package metrics;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.WrapsElement;
+import runner.TestContext;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Обертка драйвера, измеряющая длительность каждой команды и передающая команды
+ * подключенным {@link CommandListener}.
+ * <p>
+ * Оборачиваются драйвер и все возвращаемые им объекты Selenium (элементы, навигация, настройки),
+ * поэтому учитываются и команды элементов. Обертки реализуют {@link WrapsDriver} и {@link WrapsElement},
+ * так что их можно передавать в сценарии и действия Selenium
+ */
+public final class InstrumentedDriver {
+    private static final String PAGE_OBJECTS = "pageObjects.";
+    private static final StackWalker WALKER = StackWalker.getInstance();
+    private static final List<CommandListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private InstrumentedDriver() {
+    }
+
+    /**
+     * Оборачивает драйвер, если сбор метрик или наблюдение за задержками включены или подключены слушатели
+     */
+    public static WebDriver wrap(WebDriver driver) {
+        return CommandMetrics.isCollecting() || !LISTENERS.isEmpty()
+                ? (WebDriver) proxy(driver, WrapsDriver.class) : driver;
+    }
+
+    /**
+     * Подключает слушателя команд драйверов, обернутых после вызова
+     */
+    public static void addListener(CommandListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    /**
+     * Возвращает исходный драйвер из обертки
+     */
+    public static WebDriver unwrap(WebDriver driver) {
+        return driver instanceof WrapsDriver && Proxy.isProxyClass(driver.getClass())
+                ? ((WrapsDriver) driver).getWrappedDriver() : driver;
+    }
+
+    private static Object proxy(Object target, Class<?> wrapper) {
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> type = target.getClass(); type != null; type = type.getSuperclass()) {
+            interfaces.addAll(Arrays.asList(type.getInterfaces()));
+        }
+        if (wrapper != null) {
+            interfaces.add(wrapper);
+        }
+        return Proxy.newProxyInstance(InstrumentedDriver.class.getClassLoader(),
+                interfaces.toArray(new Class<?>[0]), new Handler(target));
+    }
+
+    private static Object wrapResult(Object result) {
+        if (result instanceof WebElement) {
+            return proxy(result, WrapsElement.class);
+        }
+        if (result instanceof List) {
+            List<Object> wrapped = new ArrayList<>();
+            for (Object item : (List<?>) result) {
+                wrapped.add(wrapResult(item));
+            }
+            return wrapped;
+        }
+        if (result != null && result.getClass().getName().startsWith("org.openqa.selenium.")
+                && !(result instanceof Collection) && result.getClass().getInterfaces().length > 0
+                && result.getClass().getInterfaces()[0].getName().startsWith("org.openqa.selenium.")) {
+            return proxy(result, null);
+        }
+        return result;
+    }
+
+    private static Object unwrapArgument(Object argument) {
+        if (argument instanceof Object[]) {
+            Object[] values = ((Object[]) argument).clone();
+            for (int i = 0; i < values.length; i++) {
+                values[i] = unwrapArgument(values[i]);
+            }
+            return values;
+        }
+        if (argument != null && Proxy.isProxyClass(argument.getClass())
+                && Proxy.getInvocationHandler(argument) instanceof Handler) {
+            return ((Handler) Proxy.getInvocationHandler(argument)).target;
+        }
+        return argument;
+    }
+
+    private static String caller() {
+        Optional<String> frame = WALKER.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith(PAGE_OBJECTS))
+                .map(f -> f.getClassName().substring(PAGE_OBJECTS.length()) + "." + f.getMethodName())
+                .findFirst());
+        return frame.orElse("-");
+    }
+
+    private static final class Handler implements InvocationHandler {
+        private final Object target;
+
+        private Handler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (method.getDeclaringClass() == Object.class) {
+                if (name.equals("equals")) {
+                    return proxy == args[0] || this.target.equals(unwrapArgument(args[0]));
+                }
+                return method.invoke(this.target, args);
+            }
+            if (name.equals("getWrappedDriver") && this.target instanceof WebDriver) {
+                return this.target;
+            }
+            if (name.equals("getWrappedElement") && !(this.target instanceof WrapsElement)) {
+                return this.target;
+            }
+
+            Object[] arguments = args == null ? null : (Object[]) unwrapArgument(args);
+            for (CommandListener listener : LISTENERS) {
+                listener.beforeCommand(name, arguments);
+            }
+            long start = System.nanoTime();
+            try {
+                return wrapResult(method.invoke(this.target, arguments));
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                if (CommandMetrics.isCollecting()) {
+                    CommandMetrics.record(TestContext.currentName(), name, caller(), System.nanoTime() - start);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Потокобезопасная гистограмма задержек с логарифмическими корзинами.
+ * <p>
+ * Каждая степень двойки (в микросекундах) делится на четыре корзины, поэтому погрешность
+ * перцентилей не превышает 25%, а запись значения — это несколько атомарных инкрементов без блокировок
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKETS = 4;
+    private static final int BUCKETS = 64 * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Записывает длительность в наносекундах
+     */
+    public void record(long nanos) {
+        long micros = Math.max(nanos / 1000, 1);
+        this.counts.incrementAndGet(bucket(micros));
+        this.count.incrementAndGet();
+        this.totalNanos.addAndGet(nanos);
+        this.maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getCount() {
+        return this.count.get();
+    }
+
+    public double getTotalMillis() {
+        return this.totalNanos.get() / 1_000_000.0;
+    }
+
+    public double getMaxMillis() {
+        return this.maxNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Возвращает верхнюю границу корзины, в которую попадает перцентиль, в миллисекундах
+     * @param percentile Перцентиль от 0 до 100
+     */
+    public double percentileMillis(double percentile) {
+        long total = this.count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += this.counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBoundMicros(i) / 1000.0, getMaxMillis());
+            }
+        }
+        return getMaxMillis();
+    }
+
+    private static int bucket(long micros) {
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = exponent < 2 ? 0 : (int) ((micros >>> (exponent - 2)) & (SUB_BUCKETS - 1));
+        return exponent * SUB_BUCKETS + sub;
+    }
+
+    private static double upperBoundMicros(int bucket) {
+        int exponent = bucket / SUB_BUCKETS;
+        int sub = bucket % SUB_BUCKETS;
+        double base = Math.pow(2, exponent);
+        return base + base * (sub + 1) / SUB_BUCKETS;
+    }
+}
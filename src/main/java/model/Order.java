@@ -0,0 +1,79 @@
+package model;
+
+/**
+ * Данные заказа самоката
+ */
+public class Order {
+    private final String name;
+    private final String surname;
+    private final String address;
+    private final String metroStation;
+    private final String phoneNumber;
+    private final String deliveryDate;
+    private final String rentalPeriod;
+    private final String scooterColor;
+    private final String comment;
+
+    public Order(
+            String name,
+            String surname,
+            String address,
+            String metroStation,
+            String phoneNumber,
+            String deliveryDate,
+            String rentalPeriod,
+            String scooterColor,
+            String comment
+    ) {
+        this.name = name;
+        this.surname = surname;
+        this.address = address;
+        this.metroStation = metroStation;
+        this.phoneNumber = phoneNumber;
+        this.deliveryDate = deliveryDate;
+        this.rentalPeriod = rentalPeriod;
+        this.scooterColor = scooterColor;
+        this.comment = comment;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSurname() {
+        return surname;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public String getMetroStation() {
+        return metroStation;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public String getDeliveryDate() {
+        return deliveryDate;
+    }
+
+    public String getRentalPeriod() {
+        return rentalPeriod;
+    }
+
+    public String getScooterColor() {
+        return scooterColor;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + surname;
+    }
+}
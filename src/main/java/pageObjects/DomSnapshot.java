@@ -0,0 +1,173 @@
+package pageObjects;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Снимок элементов страницы только для чтения.
+ * <p>
+ * Одним сценарием считывает текст, видимость и заданные атрибуты всех элементов по локаторам страницы
+ * и отвечает на чтения из памяти, пока страница не сбросит снимок через {@link #invalidate()} после
+ * действия, меняющего страницу (нажатие, ввод, переход). Текст скрытого элемента, как и в
+ * {@link WebElement#getText()}, пустой; атрибуты читаются как в {@link WebElement#getAttribute(String)},
+ * сначала свойство элемента. Если сценарии недоступны (например, браузер без JavaScript),
+ * чтения выполняются через {@link ElementCache}
+ */
+public class DomSnapshot {
+    private static final String CAPTURE_SCRIPT =
+            ScriptLocator.FIND_ALL_FUNCTION
+                    + "function visible(e) {"
+                    + "  if (!e.getClientRects().length) { return false; }"
+                    + "  var style = window.getComputedStyle(e);"
+                    + "  return style.visibility !== 'hidden' && style.opacity !== '0';"
+                    + "}"
+                    + "var locators = arguments[0], names = arguments[1];"
+                    + "return locators.map(function (locator) {"
+                    + "  return findAll(locator[0], locator[1]).map(function (e) {"
+                    + "    var shown = visible(e), attributes = {};"
+                    + "    names.forEach(function (name) {"
+                    + "      var property = e[name];"
+                    + "      var value = property != null && typeof property !== 'object' ? property : e.getAttribute(name);"
+                    + "      attributes[name] = value == null ? null : String(value);"
+                    + "    });"
+                    + "    return {text: shown ? e.innerText.trim() : '', visible: shown, attributes: attributes};"
+                    + "  });"
+                    + "});";
+
+    private final WebDriver driver;
+    private final ElementCache elements;
+    private final List<By> locators;
+    private final List<String> attributes;
+    private final List<List<Object>> scriptArguments = new ArrayList<>();
+    private Map<By, List<Map<String, Object>>> captured;
+    private boolean unsupported;
+    private long captures;
+
+    /**
+     * @param driver Драйвер страницы
+     * @param elements Кэш элементов страницы для чтений без сценариев
+     * @param locators Локаторы, элементы которых попадают в снимок
+     * @param attributes Имена считываемых атрибутов
+     */
+    public DomSnapshot(WebDriver driver, ElementCache elements, List<By> locators, List<String> attributes) {
+        this.driver = driver;
+        this.elements = elements;
+        this.locators = locators;
+        this.attributes = attributes;
+        for (By locator : locators) {
+            this.scriptArguments.add(Arrays.asList(ScriptLocator.arguments(locator)));
+        }
+    }
+
+    /**
+     * Возвращает видимый текст элемента
+     */
+    public String text(By locator, int index) {
+        Map<String, Object> element = element(locator, index);
+        return element == null ? this.elements.query(locator, index, WebElement::getText) : (String) element.get("text");
+    }
+
+    /**
+     * Возвращает значение атрибута элемента или {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public String attribute(By locator, int index, String name) {
+        Map<String, Object> element = element(locator, index);
+        if (element == null || !this.attributes.contains(name)) {
+            return this.elements.query(locator, index, found -> found.getAttribute(name));
+        }
+        return ((Map<String, String>) element.get("attributes")).get(name);
+    }
+
+    /**
+     * Проверяет видимость элемента
+     */
+    public boolean visible(By locator, int index) {
+        Map<String, Object> element = element(locator, index);
+        return element == null ? this.elements.query(locator, index, WebElement::isDisplayed) : (Boolean) element.get("visible");
+    }
+
+    /**
+     * Возвращает число элементов по локатору
+     */
+    public int count(By locator) {
+        if (!this.locators.contains(locator) || !capture()) {
+            return this.elements.count(locator);
+        }
+        return this.captured.get(locator).size();
+    }
+
+    /**
+     * Сбрасывает снимок; следующее чтение считает страницу заново
+     */
+    public void invalidate() {
+        this.captured = null;
+    }
+
+    /**
+     * Число выполненных считываний страницы
+     */
+    public long getCaptures() {
+        return this.captures;
+    }
+
+    /**
+     * Возвращает элемент снимка или {@code null}, если чтение нужно выполнить через кэш элементов
+     */
+    private Map<String, Object> element(By locator, int index) {
+        if (!this.locators.contains(locator) || !capture()) {
+            return null;
+        }
+        List<Map<String, Object>> found = this.captured.get(locator);
+        if (index >= found.size()) {
+            // Элемент мог появиться после снимка
+            invalidate();
+            if (!capture()) {
+                return null;
+            }
+            found = this.captured.get(locator);
+        }
+        if (index >= found.size()) {
+            throw new NoSuchElementException("Не найден элемент #" + index + " по локатору " + locator);
+        }
+        return found.get(index);
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean capture() {
+        if (this.captured != null) {
+            return true;
+        }
+        if (this.unsupported) {
+            return false;
+        }
+        List<Object> result;
+        try {
+            result = (List<Object>) ((JavascriptExecutor) this.driver).executeScript(CAPTURE_SCRIPT,
+                    this.scriptArguments, this.attributes);
+        } catch (UnsupportedOperationException e) {
+            // Сценарии отключены в драйвере
+            this.unsupported = true;
+            return false;
+        } catch (WebDriverException e) {
+            return false;
+        }
+        this.captures++;
+        Map<By, List<Map<String, Object>>> snapshot = new HashMap<>();
+        for (int i = 0; i < this.locators.size(); i++) {
+            snapshot.put(this.locators.get(i), (List<Map<String, Object>>) result.get(i));
+        }
+        this.captured = snapshot;
+        return true;
+    }
+}
@@ -0,0 +1,114 @@
+package pageObjects;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Выбирает вариант из выпадающего списка по тексту.
+ * <p>
+ * Поиск варианта выполняется одним сценарием в браузере вместо чтения текста каждого варианта.
+ * Найденные позиции запоминаются в индексе "текст -> позиция", который можно разделять между
+ * экземплярами страницы, чтобы повторные заказы на той же форме не просматривали список заново.
+ * Если сценарии недоступны, используется последовательный перебор вариантов.
+ * Нажатие выполняется один раз, а отсутствие варианта сразу приводит к ошибке
+ */
+public class DropdownSelector {
+    private static final String SCAN_SCRIPT = ScriptLocator.FIND_ALL_FUNCTION
+            + "var nodes = findAll(arguments[0], arguments[1]);"
+            + "var texts = [], match = null;"
+            + "for (var i = 0; i < nodes.length; i++) {"
+            + "  var text = (nodes[i].innerText || nodes[i].textContent || '').trim();"
+            + "  texts.push(text);"
+            + "  if (match === null && text === arguments[2]) { match = nodes[i]; }"
+            + "}"
+            + "return [match, texts];";
+    private static final String INDEXED_SCRIPT = ScriptLocator.FIND_ALL_FUNCTION
+            + "var node = findAll(arguments[0], arguments[1])[arguments[3]];"
+            + "return node && (node.innerText || node.textContent || '').trim() === arguments[2] ? node : null;";
+
+    private final WebDriver driver;
+    private final Map<String, Map<String, Integer>> index;
+
+    /**
+     * @param index Индекс позиций вариантов; ключ — локатор и контекст списка
+     */
+    public DropdownSelector(WebDriver driver, Map<String, Map<String, Integer>> index) {
+        this.driver = driver;
+        this.index = index;
+    }
+
+    /**
+     * Создает индекс, который можно разделять между экземплярами страницы
+     */
+    public static Map<String, Map<String, Integer>> newIndex() {
+        return new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Нажимает вариант с указанным текстом
+     * @param context Уточнение для списков, содержимое которых зависит от ввода (например, фильтр метро)
+     * @throws NoSuchElementException Если варианта с таким текстом нет
+     */
+    public void select(By optionsLocator, String context, String value) {
+        WebElement option;
+        if (this.driver instanceof JavascriptExecutor) {
+            try {
+                option = findByScript(optionsLocator, context, value);
+            } catch (UnsupportedOperationException | WebDriverException e) {
+                // Сценарий не выполнился: ищем перебором, нажатия еще не было
+                option = findByScan(optionsLocator, value);
+            }
+        } else {
+            option = findByScan(optionsLocator, value);
+        }
+        if (option == null) {
+            throw new NoSuchElementException("Не найден вариант \"" + value + "\" по локатору " + optionsLocator);
+        }
+        option.click();
+    }
+
+    @SuppressWarnings("unchecked")
+    private WebElement findByScript(By optionsLocator, String context, String value) {
+        JavascriptExecutor executor = (JavascriptExecutor) this.driver;
+        Object[] locator = ScriptLocator.arguments(optionsLocator);
+        String key = optionsLocator + "|" + context;
+
+        Map<String, Integer> positions = this.index.get(key);
+        Integer position = positions == null ? null : positions.get(value);
+        if (position != null) {
+            Object indexed = executor.executeScript(INDEXED_SCRIPT, locator[0], locator[1], value, position);
+            if (indexed instanceof WebElement) {
+                return (WebElement) indexed;
+            }
+            this.index.remove(key);
+        }
+
+        List<Object> result = (List<Object>) executor.executeScript(SCAN_SCRIPT, locator[0], locator[1], value);
+        List<Object> texts = (List<Object>) result.get(1);
+        Map<String, Integer> built = new HashMap<>();
+        for (int i = texts.size() - 1; i >= 0; i--) {
+            built.put(String.valueOf(texts.get(i)), i);
+        }
+        this.index.put(key, built);
+        return (WebElement) result.get(0);
+    }
+
+    private WebElement findByScan(By optionsLocator, String value) {
+        List<WebElement> options = this.driver.findElements(optionsLocator);
+        for (WebElement option : options) {
+            if (option.getText().equals(value)) {
+                return option;
+            }
+        }
+        return null;
+    }
+}
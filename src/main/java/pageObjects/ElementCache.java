@@ -0,0 +1,146 @@
+package pageObjects;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Кэш найденных элементов страницы.
+ * <p>
+ * Запоминает списки элементов по локатору, чтобы повторные обращения к стабильной странице
+ * не требовали запросов к браузеру. Кэш сбрасывается целиком при {@link StaleElementReferenceException}
+ * (с однократным повтором действия) и при переходах, выполняемых страницей через {@link #invalidate()}.
+ * Пустые результаты не кэшируются, так как элемент может появиться позже
+ */
+public class ElementCache {
+    private static final LongAdder TOTAL_HITS = new LongAdder();
+    private static final LongAdder TOTAL_MISSES = new LongAdder();
+
+    private final WebDriver driver;
+    private final Map<By, List<WebElement>> elements = new HashMap<>();
+    private long hits;
+    private long misses;
+
+    public ElementCache(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Возвращает все элементы по локатору
+     */
+    public List<WebElement> findAll(By locator) {
+        List<WebElement> cached = this.elements.get(locator);
+        if (cached != null) {
+            this.hits++;
+            TOTAL_HITS.increment();
+            return cached;
+        }
+        this.misses++;
+        TOTAL_MISSES.increment();
+        List<WebElement> found = this.driver.findElements(locator);
+        if (!found.isEmpty()) {
+            this.elements.put(locator, found);
+        }
+        return found;
+    }
+
+    /**
+     * Возвращает элемент по локатору и порядковому номеру
+     */
+    public WebElement get(By locator, int index) {
+        List<WebElement> found = findAll(locator);
+        if (index >= found.size() && this.elements.remove(locator) != null) {
+            found = findAll(locator);
+        }
+        if (index >= found.size()) {
+            throw new NoSuchElementException("Не найден элемент #" + index + " по локатору " + locator);
+        }
+        return found.get(index);
+    }
+
+    /**
+     * Возвращает первый элемент по локатору
+     */
+    public WebElement get(By locator) {
+        return get(locator, 0);
+    }
+
+    /**
+     * Возвращает число элементов по локатору
+     */
+    public int count(By locator) {
+        return findAll(locator).size();
+    }
+
+    /**
+     * Считывает значение из элемента, повторяя попытку на свежем элементе, если закэшированный устарел
+     */
+    public <T> T query(By locator, int index, Function<WebElement, T> reader) {
+        try {
+            return reader.apply(get(locator, index));
+        } catch (StaleElementReferenceException e) {
+            invalidate();
+            return reader.apply(get(locator, index));
+        }
+    }
+
+    /**
+     * Выполняет действие над элементом, повторяя попытку на свежем элементе, если закэшированный устарел
+     */
+    public void perform(By locator, int index, Consumer<WebElement> action) {
+        query(locator, index, element -> {
+            action.accept(element);
+            return null;
+        });
+    }
+
+    /**
+     * Выполняет действие над первым элементом по локатору
+     */
+    public void perform(By locator, Consumer<WebElement> action) {
+        perform(locator, 0, action);
+    }
+
+    /**
+     * Сбрасывает все закэшированные элементы
+     */
+    public void invalidate() {
+        this.elements.clear();
+    }
+
+    public long getHits() {
+        return this.hits;
+    }
+
+    public long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * Число попаданий в кэш по всем страницам JVM
+     */
+    public static long getTotalHits() {
+        return TOTAL_HITS.sum();
+    }
+
+    /**
+     * Число промахов кэша по всем страницам JVM
+     */
+    public static long getTotalMisses() {
+        return TOTAL_MISSES.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ElementCache{hits=" + this.hits + ", misses=" + this.misses + "}";
+    }
+}
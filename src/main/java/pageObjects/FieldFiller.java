@@ -0,0 +1,68 @@
+package pageObjects;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Заполняет несколько полей ввода одним сценарием в браузере.
+ * <p>
+ * Значение устанавливается через встроенный сеттер {@code HTMLInputElement.value} с последующими
+ * событиями {@code input} и {@code change}, чтобы React обновил состояние формы так же, как при вводе с клавиатуры.
+ * Поля заполняются в порядке перечисления и только после того, как найдены все; фокус остается на последнем поле.
+ * Если сценарии недоступны, каждое поле заполняется вводом с клавиатуры
+ */
+public class FieldFiller {
+    private static final String FILL_SCRIPT = ScriptLocator.FIND_ALL_FUNCTION
+            + "var setter = Object.getOwnPropertyDescriptor(HTMLInputElement.prototype, 'value').set;"
+            + "var fields = [];"
+            + "for (var i = 0; i < arguments.length; i += 3) {"
+            + "  var field = findAll(arguments[i], arguments[i + 1])[0];"
+            + "  if (!field) { throw new Error('Field not found: ' + arguments[i + 1]); }"
+            + "  fields.push([field, arguments[i + 2]]);"
+            + "}"
+            + "fields.forEach(function (entry) {"
+            + "  entry[0].focus();"
+            + "  setter.call(entry[0], entry[1]);"
+            + "  entry[0].dispatchEvent(new Event('input', {bubbles: true}));"
+            + "  entry[0].dispatchEvent(new Event('change', {bubbles: true}));"
+            + "});";
+
+    private final WebDriver driver;
+    private final ElementCache elements;
+
+    public FieldFiller(WebDriver driver, ElementCache elements) {
+        this.driver = driver;
+        this.elements = elements;
+    }
+
+    /**
+     * Заполняет поля значениями
+     * @param values Локаторы полей и их значения в порядке заполнения
+     */
+    public void fill(Map<By, String> values) {
+        if (this.driver instanceof JavascriptExecutor) {
+            List<Object> arguments = new ArrayList<>();
+            for (Map.Entry<By, String> entry : values.entrySet()) {
+                Object[] locator = ScriptLocator.arguments(entry.getKey());
+                arguments.add(locator[0]);
+                arguments.add(locator[1]);
+                arguments.add(entry.getValue());
+            }
+            try {
+                ((JavascriptExecutor) this.driver).executeScript(FILL_SCRIPT, arguments.toArray());
+                return;
+            } catch (UnsupportedOperationException | WebDriverException e) {
+                // Заполнение вводом с клавиатуры ниже
+            }
+        }
+        for (Map.Entry<By, String> entry : values.entrySet()) {
+            this.elements.perform(entry.getKey(), field -> field.sendKeys(entry.getValue()));
+        }
+    }
+}
@@ -1,15 +1,25 @@
 package pageObjects;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openqa.selenium.WebElement;
+import runner.HealthGate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Реализует взаимодействие с элементами главной страницы сервиса
  */
 public class MainPage {
     private final WebDriver webDriver;
+    private final ElementCache elements;
+    private final Waits waits;
+    private final DomSnapshot snapshot;
+    private final PagePerformance performance;
 
     // Локаторы элементов страницы
     private final By sectionHeaders = By.className("accordion__heading");
@@ -19,89 +29,200 @@ public class MainPage {
     private final By cookieAcceptButton = By.id("rcc-confirm-button");
     private final By yandexLogoLink = By.xpath(".//a[starts-with(@class,'Header_LogoYandex')]");
     private final By scooterLogoLink = By.xpath(".//a[starts-with(@class,'Header_LogoScooter')]");
+    private final By orderForm = By.xpath(".//div[starts-with(@class, 'Order_Form')]");
 
     /**
      * Инициализирует новый экземпляр страницы
      */
     public MainPage(WebDriver driver) {
         this.webDriver = driver;
+        this.elements = new ElementCache(driver);
+        this.waits = new Waits(driver);
+        // Чтения секций и логотипов обслуживаются одним снимком до следующего действия на странице
+        this.snapshot = new DomSnapshot(driver, this.elements,
+                Arrays.asList(sectionHeaders, sectionContents, yandexLogoLink, scooterLogoLink),
+                Collections.unmodifiableList(Arrays.asList("href", "target")));
+        this.performance = new PagePerformance(driver);
+        PageLocators.register(this);
+    }
+
+    /**
+     * Открывает главную страницу и сверяет показатели ее загрузки с бюджетами
+     */
+    public void open(String url) {
+        HealthGate.shared().load(this.webDriver, url);
+        elements.invalidate();
+        snapshot.invalidate();
+        performance.checkPageLoad("main");
     }
 
     /**
      * Ожидает загрузки содержимого вложения
      */
     public void waitForSectionContent(int index) {
-        new WebDriverWait(webDriver, 3)
-                .until(ExpectedConditions.visibilityOf(webDriver.findElements(sectionContents).get(index)));
+        waits.untilVisible(sectionContents, index);
     }
 
     /**
-     * Подтверждает использование cookies
+     * Ожидает ключевых элементов страницы: кнопки заказа в шапке и заголовков секций
+     */
+    public void waitForKeyElements() {
+        waits.untilVisible(headerOrderButton);
+        waits.untilVisible(sectionHeaders);
+    }
+
+    /**
+     * Подтверждает использование cookies, если баннер отображается
      */
     public void acceptCookies() {
-        webDriver.findElement(cookieAcceptButton).click();
+        if (elements.count(cookieAcceptButton) > 0) {
+            elements.perform(cookieAcceptButton, WebElement::click);
+            snapshot.invalidate();
+        }
     }
 
     /**
      * Возвращает текст заголовка секции
      */
     public String getSectionHeaderText(int index) {
-        return webDriver.findElements(sectionHeaders).get(index).getText();
+        return snapshot.text(sectionHeaders, index);
     }
 
     /**
      * Возвращает содержимое секции
      */
     public String getSectionContent(int index) {
-        return webDriver.findElements(sectionContents).get(index).getText();
+        return snapshot.text(sectionContents, index);
     }
 
     /**
      * Раскрывает указанную секцию
      */
     public void expandSection(int index) {
-        webDriver.findElements(sectionHeaders).get(index).click();
+        elements.perform(sectionHeaders, index, WebElement::click);
+        snapshot.invalidate();
     }
 
     /**
      * Проверяет видимость содержимого секции
      */
     public boolean isSectionContentVisible(int index) {
-        return webDriver.findElements(sectionContents).get(index).isDisplayed();
+        return snapshot.visible(sectionContents, index);
+    }
+
+    /**
+     * Возвращает текущее состояние секции
+     */
+    public Section readSection(int index) {
+        return new Section(getSectionHeaderText(index), getSectionContent(index), isSectionContentVisible(index));
+    }
+
+    /**
+     * Поочередно раскрывает все секции за одну загрузку страницы и возвращает их состояние.
+     * Секция, содержимое которой не появилось, возвращается с признаком невидимости
+     */
+    public List<Section> readAllSections() {
+        List<Section> sections = new ArrayList<>();
+        int count = snapshot.count(sectionHeaders);
+        for (int index = 0; index < count; index++) {
+            expandSection(index);
+            try {
+                waitForSectionContent(index);
+            } catch (TimeoutException e) {
+                sections.add(new Section(getSectionHeaderText(index), "", false));
+                continue;
+            }
+            sections.add(readSection(index));
+        }
+        return sections;
+    }
+
+    /**
+     * Возвращает кэш элементов страницы
+     */
+    public ElementCache getElementCache() {
+        return elements;
+    }
+
+    /**
+     * Возвращает снимок элементов страницы
+     */
+    public DomSnapshot getSnapshot() {
+        return snapshot;
     }
 
     /**
      * Нажимает кнопку заказа в шапке страницы
      */
     public void clickHeaderOrderButton() {
-        webDriver.findElement(headerOrderButton).click();
+        startOrderFormMeasurement();
+        elements.perform(headerOrderButton, WebElement::click);
+        elements.invalidate();
+        snapshot.invalidate();
     }
 
     /**
      * Нажимает основную кнопку заказа
      */
     public void clickMainOrderButton() {
-        webDriver.findElement(mainOrderButton).click();
+        startOrderFormMeasurement();
+        elements.perform(mainOrderButton, WebElement::click);
+        elements.invalidate();
+        snapshot.invalidate();
     }
 
     /**
      * Получает URL из логотипа Яндекса
      */
     public String getYandexLogoUrl() {
-        return webDriver.findElement(yandexLogoLink).getAttribute("href");
+        return snapshot.attribute(yandexLogoLink, 0, "href");
     }
 
     /**
      * Получает URL из логотипа Самоката
      */
     public String getScooterLogoUrl() {
-        return webDriver.findElement(scooterLogoLink).getAttribute("href");
+        return snapshot.attribute(scooterLogoLink, 0, "href");
     }
 
     /**
      * Проверяет, открывается ли ссылка Яндекса в новой вкладке
      */
     public boolean isYandexLinkOpensInNewTab() {
-        return "_blank".equals(webDriver.findElement(yandexLogoLink).getAttribute("target"));
+        return "_blank".equals(snapshot.attribute(yandexLogoLink, 0, "target"));
+    }
+
+    /**
+     * Начинает замер отрисовки формы заказа, который завершает {@link OrderPage#waitForFormToLoad()}
+     */
+    private void startOrderFormMeasurement() {
+        performance.startInteraction("orderForm", orderForm, "");
+    }
+
+    /**
+     * Состояние секции "Вопросы о важном"
+     */
+    public static class Section {
+        private final String header;
+        private final String content;
+        private final boolean contentVisible;
+
+        public Section(String header, String content, boolean contentVisible) {
+            this.header = header;
+            this.content = content;
+            this.contentVisible = contentVisible;
+        }
+
+        public String getHeader() {
+            return header;
+        }
+
+        public String getContent() {
+            return content;
+        }
+
+        public boolean isContentVisible() {
+            return contentVisible;
+        }
     }
 }
\ No newline at end of file
@@ -1,18 +1,26 @@
 package pageObjects;
 
+import model.Order;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Класс для работы со страницей оформления заказа
  */
 public class OrderPage {
+    // Позиции вариантов выпадающих списков, общие для всех экземпляров страницы
+    private static final Map<String, Map<String, Integer>> DROPDOWN_INDEX = DropdownSelector.newIndex();
+
     private final WebDriver driver;
+    private final ElementCache elements;
+    private final DropdownSelector dropdowns;
+    private final Waits waits;
+    private final FieldFiller fields;
+    private final PagePerformance performance;
 
     // Локаторы элементов формы заказа
     private final By orderForm = By.xpath(".//div[starts-with(@class, 'Order_Form')]");
@@ -41,65 +49,127 @@ public class OrderPage {
 
     public OrderPage(WebDriver driver) {
         this.driver = driver;
+        this.elements = new ElementCache(driver);
+        this.dropdowns = new DropdownSelector(driver, DROPDOWN_INDEX);
+        this.waits = new Waits(driver);
+        this.fields = new FieldFiller(driver, this.elements);
+        this.performance = new PagePerformance(driver);
+        PageLocators.register(this);
     }
 
     /**
      * Ожидает загрузки формы заказа
      */
     public void waitForFormToLoad() {
-        new WebDriverWait(this.driver, 3)
-                .until(ExpectedConditions.visibilityOf(this.driver.findElement(this.orderForm)));
+        this.waits.untilVisible(this.orderForm);
+        this.performance.finishInteraction("orderForm");
+    }
+
+    /**
+     * Заполняет оба шага формы данными заказа, объединяя ввод текстовых полей каждого шага в один сценарий.
+     * Отдельные методы заполнения полей остаются для проверок конкретных полей
+     */
+    public void fillOrder(Order order) {
+        fillCustomerStep(order);
+        fillRentalStep(order);
+    }
+
+    /**
+     * Заполняет первый шаг формы (данные получателя) и переходит ко второму
+     */
+    public void fillCustomerStep(Order order) {
+        fillCustomerFields(order);
+        confirmMetroStation(order.getMetroStation());
+        clickContinueButton();
+    }
+
+    /**
+     * Вводит данные получателя первого шага, включая текст станции метро
+     */
+    public void fillCustomerFields(Order order) {
+        Map<By, String> customer = new LinkedHashMap<>();
+        customer.put(this.nameField, order.getName());
+        customer.put(this.surnameField, order.getSurname());
+        customer.put(this.addressField, order.getAddress());
+        customer.put(this.phoneField, order.getPhoneNumber());
+        // Станция заполняется последней: фокус на поле открывает список станций
+        customer.put(this.metroField, order.getMetroStation());
+        this.fields.fill(customer);
+    }
+
+    /**
+     * Выбирает станцию в открытом после ввода списке станций
+     */
+    public void confirmMetroStation(String station) {
+        this.waits.untilVisible(this.metroDropdown);
+        this.dropdowns.select(this.metroOptions, station, station);
+    }
+
+    /**
+     * Заполняет второй шаг формы (условия аренды)
+     */
+    public void fillRentalStep(Order order) {
+        Map<By, String> rental = new LinkedHashMap<>();
+        rental.put(this.commentField, order.getComment());
+        // Дата заполняется последней: фокус на поле открывает календарь с выбранным днем
+        rental.put(this.datePicker, order.getDeliveryDate());
+        this.fields.fill(rental);
+        this.waits.untilVisible(this.selectedDate);
+        clickSelectedDate();
+        selectRentalPeriod(order.getRentalPeriod());
+        chooseScooterColor(order.getScooterColor());
     }
 
     /**
      * Заполняет поле имени
      */
     public void enterName(String name) {
-        this.driver.findElement(this.nameField).sendKeys(name);
+        this.elements.perform(this.nameField, field -> field.sendKeys(name));
     }
 
     /**
      * Заполняет поле фамилии
      */
     public void enterSurname(String surname) {
-        this.driver.findElement(this.surnameField).sendKeys(surname);
+        this.elements.perform(this.surnameField, field -> field.sendKeys(surname));
     }
 
     /**
      * Заполняет поле адреса
      */
     public void enterAddress(String address) {
-        this.driver.findElement(this.addressField).sendKeys(address);
+        this.elements.perform(this.addressField, field -> field.sendKeys(address));
     }
 
     /**
      * Выбирает станцию метро
      */
     public void selectMetroStation(String station) {
-        this.driver.findElement(this.metroField).sendKeys(station);
+        this.elements.perform(this.metroField, field -> field.sendKeys(station));
         waitForElement(this.metroDropdown);
-        selectFromDropdown(this.metroOptions, station);
+        this.dropdowns.select(this.metroOptions, station, station);
     }
 
     /**
      * Заполняет поле телефона
      */
     public void enterPhoneNumber(String phone) {
-        this.driver.findElement(this.phoneField).sendKeys(phone);
+        this.elements.perform(this.phoneField, field -> field.sendKeys(phone));
     }
 
     /**
      * Нажимает кнопку продолжения
      */
     public void clickContinueButton() {
-        this.driver.findElement(this.continueButton).click();
+        this.elements.perform(this.continueButton, WebElement::click);
+        this.elements.invalidate();
     }
 
     /**
      * Устанавливает дату доставки
      */
     public void setDeliveryDate(String date) {
-        this.driver.findElement(this.datePicker).sendKeys(date);
+        this.elements.perform(this.datePicker, field -> field.sendKeys(date));
         waitForElement(this.selectedDate);
         clickSelectedDate();
     }
@@ -109,21 +179,21 @@ public class OrderPage {
      */
     public void selectRentalPeriod(String period) {
         expandRentalPeriodDropdown();
-        selectFromDropdown(this.rentalPeriodOptions, period);
+        this.dropdowns.select(this.rentalPeriodOptions, "", period);
     }
 
     /**
      * Выбирает цвет самоката
      */
     public void chooseScooterColor(String color) {
-        selectFromDropdown(this.colorOptions, color);
+        this.dropdowns.select(this.colorOptions, "", color);
     }
 
     /**
      * Добавляет комментарий к заказу
      */
     public void addComment(String comment) {
-        this.driver.findElement(this.commentField).sendKeys(comment);
+        this.elements.perform(this.commentField, field -> field.sendKeys(comment));
     }
 
     /**
@@ -132,44 +202,44 @@ public class OrderPage {
     public void confirmOrder() {
         clickOrderButton();
         waitForElement(this.confirmOrderButton);
+        this.performance.startInteraction("orderModal", this.orderSuccessMessage, "Заказ оформлен");
         clickConfirmOrderButton();
+        this.performance.finishInteraction("orderModal");
+    }
+
+    /**
+     * Возвращает кэш элементов страницы
+     */
+    public ElementCache getElementCache() {
+        return this.elements;
     }
 
     /**
      * Возвращает сообщение об успешном оформлении заказа
      */
     public String getOrderConfirmationMessage() {
-        return this.driver.findElement(this.orderSuccessMessage).getText();
+        return this.elements.query(this.orderSuccessMessage, 0, WebElement::getText);
     }
 
     private void waitForElement(By element) {
-        new WebDriverWait(this.driver, 3)
-                .until(ExpectedConditions.visibilityOf(this.driver.findElement(element)));
+        this.waits.untilVisible(element);
     }
 
     private void clickOrderButton() {
-        this.driver.findElement(this.orderButton).click();
+        this.elements.perform(this.orderButton, WebElement::click);
+        this.elements.invalidate();
     }
 
     private void clickConfirmOrderButton() {
-        this.driver.findElement(this.confirmOrderButton).click();
-    }
-
-    private void selectFromDropdown(By optionsLocator, String value) {
-        List<WebElement> options = this.driver.findElements(optionsLocator);
-        for (WebElement option : options) {
-            if (option.getText().equals(value)) {
-                option.click();
-                break;
-            }
-        }
+        this.elements.perform(this.confirmOrderButton, WebElement::click);
+        this.elements.invalidate();
     }
 
     private void clickSelectedDate() {
-        this.driver.findElement(this.selectedDate).click();
+        this.elements.perform(this.selectedDate, WebElement::click);
     }
 
     private void expandRentalPeriodDropdown() {
-        this.driver.findElement(this.rentalPeriodDropdown).click();
+        this.elements.perform(this.rentalPeriodDropdown, WebElement::click);
     }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package pageObjects;
+
+import org.openqa.selenium.By;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Реестр полей-локаторов страниц.
+ * <p>
+ * Страницы регистрируются при создании, после чего по текстовому представлению локатора
+ * ("By.xpath: ...") можно найти поле страницы, в котором он объявлен
+ */
+public final class PageLocators {
+    // Выражение локатора -> поле страницы, по классам страниц
+    private static final Map<String, Map<String, String>> BY_PAGE = new ConcurrentHashMap<>();
+
+    private PageLocators() {
+    }
+
+    /**
+     * Регистрирует поля-локаторы страницы; повторная регистрация класса ничего не делает
+     */
+    static void register(Object page) {
+        BY_PAGE.computeIfAbsent(page.getClass().getSimpleName(), name -> {
+            Map<String, String> locators = new HashMap<>();
+            for (Field field : page.getClass().getDeclaredFields()) {
+                if (By.class.isAssignableFrom(field.getType()) && !Modifier.isStatic(field.getModifiers())) {
+                    try {
+                        field.setAccessible(true);
+                        locators.put(field.get(page).toString(), name + "." + field.getName());
+                    } catch (IllegalAccessException | RuntimeException e) {
+                        // Поле без значения не участвует в реестре
+                    }
+                }
+            }
+            return locators;
+        });
+    }
+
+    /**
+     * Зарегистрирована ли страница с таким простым именем класса
+     */
+    public static boolean isPage(String name) {
+        return BY_PAGE.containsKey(name);
+    }
+
+    /**
+     * Возвращает поле страницы ({@code MainPage.yandexLogoLink}) с указанным локатором или {@code null}
+     * @param page Простое имя класса страницы
+     * @param locator Текстовое представление локатора
+     */
+    public static String field(String page, String locator) {
+        Map<String, String> locators = BY_PAGE.get(page);
+        return locators == null ? null : locators.get(locator);
+    }
+}
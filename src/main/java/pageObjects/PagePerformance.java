@@ -0,0 +1,142 @@
+package pageObjects;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import perf.PerfBudgets;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Замеры производительности страницы в браузере.
+ * <p>
+ * Загрузка страницы описывается Navigation, Paint и Resource Timing. Для действий внутри приложения
+ * (переход к форме, появление окна оформленного заказа) перед нажатием устанавливается наблюдатель,
+ * который запоминает время нажатия и первого кадра, где целевой элемент виден, поэтому задержка
+ * команд WebDriver в замер не попадает. Замеры сверяются с {@link PerfBudgets}; при выключенном
+ * режиме методы ничего не делают и не обращаются к браузеру
+ */
+public class PagePerformance {
+    private static final String PAGE_LOAD_SCRIPT =
+            "var nav = performance.getEntriesByType('navigation')[0], result = {};"
+                    + "if (nav) {"
+                    + "  result.ttfbMs = nav.responseStart;"
+                    + "  result.domContentLoadedMs = nav.domContentLoadedEventEnd;"
+                    + "  if (nav.loadEventEnd > 0) { result.loadMs = nav.loadEventEnd; }"
+                    + "}"
+                    + "performance.getEntriesByType('paint').forEach(function (p) {"
+                    + "  result[p.name === 'first-paint' ? 'firstPaintMs' : 'firstContentfulPaintMs'] = p.startTime;"
+                    + "});"
+                    + "var resources = performance.getEntriesByType('resource');"
+                    + "result.resourceCount = resources.length;"
+                    + "result.transferKb = resources.reduce(function (sum, r) { return sum + (r.transferSize || 0); }, 0) / 1024;"
+                    + "return result;";
+    private static final String START_SCRIPT = ScriptLocator.FIND_ALL_FUNCTION
+            + "var name = arguments[0], strategy = arguments[1], value = arguments[2], text = arguments[3];"
+            + "var store = window.__scooterInteractions = window.__scooterInteractions || {};"
+            + "var entry = store[name] = {clickAt: null, renderedAt: null};"
+            + "document.addEventListener('click', function () {"
+            + "  if (entry.clickAt === null) { entry.clickAt = performance.now(); }"
+            + "}, {capture: true, once: true});"
+            + "var observer = new MutationObserver(function () {"
+            + "  if (entry.clickAt === null) { return; }"
+            + "  var el = findAll(strategy, value)[0];"
+            + "  if (el && el.getClientRects().length && (!text || el.textContent.indexOf(text) >= 0)) {"
+            + "    observer.disconnect();"
+            + "    requestAnimationFrame(function () { entry.renderedAt = performance.now(); });"
+            + "  }"
+            + "});"
+            + "observer.observe(document.documentElement, {childList: true, subtree: true, attributes: true, characterData: true});";
+    private static final String FINISH_SCRIPT =
+            "var name = arguments[0], deadline = Date.now() + arguments[1], done = arguments[arguments.length - 1];"
+                    + "var entry = (window.__scooterInteractions || {})[name];"
+                    + "(function poll() {"
+                    + "  if (!entry) { done(null); return; }"
+                    + "  if (entry.renderedAt !== null) {"
+                    + "    delete window.__scooterInteractions[name];"
+                    + "    done(entry.renderedAt - entry.clickAt);"
+                    + "  } else if (Date.now() > deadline) { done(null); } else { setTimeout(poll, 20); }"
+                    + "})();";
+
+    private final WebDriver driver;
+    private final PerfBudgets budgets;
+
+    public PagePerformance(WebDriver driver) {
+        this(driver, PerfBudgets.shared());
+    }
+
+    public PagePerformance(WebDriver driver, PerfBudgets budgets) {
+        this.driver = driver;
+        this.budgets = budgets;
+    }
+
+    /**
+     * Сверяет с бюджетами показатели загрузки текущей страницы
+     * @param page Имя страницы в бюджетах, например {@code main}
+     */
+    @SuppressWarnings("unchecked")
+    public void checkPageLoad(String page) {
+        if (!this.budgets.isEnabled()) {
+            return;
+        }
+        Map<String, Object> raw;
+        try {
+            raw = (Map<String, Object>) ((JavascriptExecutor) this.driver).executeScript(PAGE_LOAD_SCRIPT);
+        } catch (UnsupportedOperationException | WebDriverException e) {
+            return;
+        }
+        if (raw == null) {
+            // Браузер без Performance API
+            return;
+        }
+        Map<String, Double> metrics = new HashMap<>();
+        raw.forEach((name, value) -> {
+            if (value instanceof Number) {
+                metrics.put(name, ((Number) value).doubleValue());
+            }
+        });
+        this.budgets.check(page, metrics);
+    }
+
+    /**
+     * Начинает замер действия: следующее нажатие на странице считается его началом,
+     * а первый кадр с видимым целевым элементом — концом
+     * @param name Имя действия в бюджетах
+     * @param target Элемент, появление которого завершает действие
+     * @param text Текст, который должен содержать элемент, или пустая строка
+     */
+    public void startInteraction(String name, By target, String text) {
+        if (!this.budgets.isEnabled()) {
+            return;
+        }
+        Object[] locator = ScriptLocator.arguments(target);
+        try {
+            ((JavascriptExecutor) this.driver).executeScript(START_SCRIPT, name, locator[0], locator[1], text);
+        } catch (UnsupportedOperationException | WebDriverException e) {
+            // Без сценариев замер невозможен
+        }
+    }
+
+    /**
+     * Дожидается окончания начатого замера и сверяет его с бюджетом {@code <имя>.renderMs}
+     */
+    public void finishInteraction(String name) {
+        if (!this.budgets.isEnabled()) {
+            return;
+        }
+        Object renderMs;
+        try {
+            renderMs = ((JavascriptExecutor) this.driver).executeAsyncScript(FINISH_SCRIPT, name,
+                    WaitProfile.current().getTimeout().toMillis());
+        } catch (UnsupportedOperationException | WebDriverException e) {
+            return;
+        }
+        if (renderMs != null) {
+            Map<String, Double> metrics = new HashMap<>();
+            metrics.put("renderMs", ((Number) renderMs).doubleValue());
+            this.budgets.check(name, metrics);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package pageObjects;
+
+import org.openqa.selenium.By;
+
+/**
+ * Переводит локаторы Selenium в поиск элементов внутри страницы,
+ * чтобы сценарии JavaScript могли работать с теми же локаторами, что и страницы.
+ * <p>
+ * Используется текстовое представление {@link By} ("By.xpath: ...", "By.className: ..." и т.д.)
+ */
+public final class ScriptLocator {
+    /**
+     * Объявление функции {@code findAll(strategy, value)}, возвращающей массив элементов.
+     * Добавляется в начало сценариев, которым нужен поиск по локатору
+     */
+    public static final String FIND_ALL_FUNCTION =
+            "function findAll(strategy, value) {"
+                    + "  var list;"
+                    + "  switch (strategy) {"
+                    + "    case 'xpath':"
+                    + "      var result = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+                    + "      var nodes = [];"
+                    + "      for (var i = 0; i < result.snapshotLength; i++) { nodes.push(result.snapshotItem(i)); }"
+                    + "      return nodes;"
+                    + "    case 'cssSelector': list = document.querySelectorAll(value); break;"
+                    + "    case 'className': list = document.getElementsByClassName(value); break;"
+                    + "    case 'id': var element = document.getElementById(value); return element ? [element] : [];"
+                    + "    case 'name': list = document.getElementsByName(value); break;"
+                    + "    case 'tagName': list = document.getElementsByTagName(value); break;"
+                    + "    default: throw new Error('Unsupported locator strategy: ' + strategy);"
+                    + "  }"
+                    + "  return Array.prototype.slice.call(list);"
+                    + "}";
+
+    private ScriptLocator() {
+    }
+
+    /**
+     * Возвращает стратегию поиска и выражение локатора в виде аргументов для {@code findAll}
+     */
+    public static Object[] arguments(By locator) {
+        String description = locator.toString();
+        int separator = description.indexOf(": ");
+        if (!description.startsWith("By.") || separator < 0) {
+            throw new IllegalArgumentException("Локатор не поддерживается в сценариях: " + description);
+        }
+        return new Object[] {description.substring(3, separator), description.substring(separator + 2)};
+    }
+}
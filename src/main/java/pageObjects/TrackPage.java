@@ -0,0 +1,63 @@
+package pageObjects;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import runner.HealthGate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Класс для работы со страницей статуса заказа
+ */
+public class TrackPage {
+    private final WebDriver driver;
+    private final ElementCache elements;
+    private final Waits waits;
+
+    // Локаторы элементов страницы
+    private final By orderInfo = By.xpath(".//div[starts-with(@class, 'Track_OrderInfo')]");
+    private final By orderValues = By.xpath(".//div[starts-with(@class, 'Track_OrderInfo')]//div[starts-with(@class, 'Track_Value')]");
+
+    public TrackPage(WebDriver driver) {
+        this.driver = driver;
+        this.elements = new ElementCache(driver);
+        this.waits = new Waits(driver);
+        PageLocators.register(this);
+    }
+
+    /**
+     * Открывает страницу статуса заказа по его номеру
+     */
+    public void open(String baseUrl, int track) {
+        HealthGate.shared().load(this.driver, baseUrl + "/track?t=" + track);
+        this.elements.invalidate();
+    }
+
+    /**
+     * Ожидает загрузки сведений о заказе
+     */
+    public void waitForOrderInfo() {
+        this.waits.untilVisible(this.orderValues);
+    }
+
+    /**
+     * Возвращает значения полей заказа в порядке отображения
+     */
+    public List<String> getOrderValues() {
+        List<String> values = new ArrayList<>();
+        for (WebElement value : this.elements.findAll(this.orderValues)) {
+            values.add(value.getText());
+        }
+        return values;
+    }
+
+    /**
+     * Проверяет, отображаются ли сведения о заказе
+     */
+    public boolean isOrderInfoVisible() {
+        return this.elements.count(this.orderInfo) > 0
+                && this.elements.query(this.orderInfo, 0, WebElement::isDisplayed);
+    }
+}
@@ -0,0 +1,55 @@
+package pageObjects;
+
+import java.time.Duration;
+
+/**
+ * Единые настройки ожиданий для всех страниц.
+ * <p>
+ * Значения задаются системными свойствами:
+ * {@code scooter.wait.timeoutMs} — предельное время ожидания (по умолчанию 3000),
+ * {@code scooter.wait.pollMinMs} и {@code scooter.wait.pollMaxMs} — границы адаптивного опроса (10 и 250),
+ * {@code scooter.wait.events} — ожидание по событиям страницы вместо опроса (по умолчанию включено)
+ */
+public class WaitProfile {
+    private static final WaitProfile CURRENT = new WaitProfile(
+            Duration.ofMillis(Long.getLong("scooter.wait.timeoutMs", 3000)),
+            Duration.ofMillis(Long.getLong("scooter.wait.pollMinMs", 10)),
+            Duration.ofMillis(Long.getLong("scooter.wait.pollMaxMs", 250)),
+            Boolean.parseBoolean(System.getProperty("scooter.wait.events", "true"))
+    );
+
+    private final Duration timeout;
+    private final Duration pollMin;
+    private final Duration pollMax;
+    private final boolean eventDriven;
+
+    public WaitProfile(Duration timeout, Duration pollMin, Duration pollMax, boolean eventDriven) {
+        this.timeout = timeout;
+        this.pollMin = pollMin;
+        this.pollMax = pollMax;
+        this.eventDriven = eventDriven;
+    }
+
+    /**
+     * Возвращает профиль, заданный для текущего запуска
+     */
+    public static WaitProfile current() {
+        return CURRENT;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public Duration getPollMin() {
+        return pollMin;
+    }
+
+    public Duration getPollMax() {
+        return pollMax;
+    }
+
+    public boolean isEventDriven() {
+        return eventDriven;
+    }
+}
@@ -0,0 +1,133 @@
+package pageObjects;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+
+/**
+ * Ожидания появления элементов.
+ * <p>
+ * Основной способ — сценарий в браузере, который подписывается на изменения DOM и окончание анимаций
+ * и завершается, как только элемент стал видимым и перестал анимироваться.
+ * Если сценарий недоступен, используется опрос с интервалом, растущим от минимального до максимального.
+ * Элемент, которого еще нет в DOM, ожидается, а не приводит к немедленной ошибке
+ */
+public class Waits {
+    private static final String APPEAR_SCRIPT = ScriptLocator.FIND_ALL_FUNCTION
+            + "var strategy = arguments[0], value = arguments[1], index = arguments[2], timeout = arguments[3];"
+            + "var done = arguments[arguments.length - 1];"
+            + "function visible(el) {"
+            + "  if (!el || !el.isConnected) { return false; }"
+            + "  var style = window.getComputedStyle(el);"
+            + "  if (style.display === 'none' || style.visibility === 'hidden' || parseFloat(style.opacity) === 0) { return false; }"
+            + "  var rect = el.getBoundingClientRect();"
+            + "  return rect.width > 0 && rect.height > 0;"
+            + "}"
+            + "function settled(el) {"
+            + "  if (!document.getAnimations) { return true; }"
+            + "  return document.getAnimations().every(function (a) {"
+            + "    var target = a.effect && a.effect.target;"
+            + "    return a.playState !== 'running' || !target || !(target.contains(el) || el.contains(target));"
+            + "  });"
+            + "}"
+            + "function ready() { var el = findAll(strategy, value)[index]; return visible(el) && settled(el); }"
+            + "if (ready()) { done(true); return; }"
+            + "var finished = false, timer;"
+            + "var observer = new MutationObserver(check);"
+            + "function finish(result) {"
+            + "  finished = true;"
+            + "  observer.disconnect();"
+            + "  clearTimeout(timer);"
+            + "  document.removeEventListener('transitionend', check, true);"
+            + "  document.removeEventListener('animationend', check, true);"
+            + "  done(result);"
+            + "}"
+            + "function check() { if (!finished && ready()) { finish(true); } }"
+            + "observer.observe(document.documentElement, {childList: true, subtree: true, attributes: true, characterData: true});"
+            + "document.addEventListener('transitionend', check, true);"
+            + "document.addEventListener('animationend', check, true);"
+            + "timer = setTimeout(function () { if (!finished) { finish(false); } }, timeout);";
+
+    private final WebDriver driver;
+    private final WaitProfile profile;
+
+    public Waits(WebDriver driver) {
+        this(driver, WaitProfile.current());
+    }
+
+    public Waits(WebDriver driver, WaitProfile profile) {
+        this.driver = driver;
+        this.profile = profile;
+    }
+
+    /**
+     * Ожидает видимости первого элемента по локатору
+     */
+    public void untilVisible(By locator) {
+        untilVisible(locator, 0);
+    }
+
+    /**
+     * Ожидает видимости элемента по локатору и порядковому номеру
+     */
+    public void untilVisible(By locator, int index) {
+        if (this.profile.isEventDriven() && this.driver instanceof JavascriptExecutor) {
+            Object[] arguments = ScriptLocator.arguments(locator);
+            Object appeared;
+            try {
+                appeared = ((JavascriptExecutor) this.driver).executeAsyncScript(APPEAR_SCRIPT,
+                        arguments[0], arguments[1], index, this.profile.getTimeout().toMillis());
+            } catch (UnsupportedOperationException | WebDriverException e) {
+                appeared = null;
+            }
+            if (Boolean.TRUE.equals(appeared)) {
+                return;
+            }
+            if (Boolean.FALSE.equals(appeared)) {
+                throw timeout(locator, index);
+            }
+        }
+        poll(locator, index);
+    }
+
+    private void poll(By locator, int index) {
+        long deadline = System.nanoTime() + this.profile.getTimeout().toNanos();
+        long interval = this.profile.getPollMin().toMillis();
+        while (true) {
+            if (isVisible(locator, index)) {
+                return;
+            }
+            long remaining = (deadline - System.nanoTime()) / 1_000_000;
+            if (remaining <= 0) {
+                throw timeout(locator, index);
+            }
+            try {
+                Thread.sleep(Math.min(interval, remaining));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw timeout(locator, index);
+            }
+            interval = Math.min(interval * 2, this.profile.getPollMax().toMillis());
+        }
+    }
+
+    private boolean isVisible(By locator, int index) {
+        try {
+            List<WebElement> found = this.driver.findElements(locator);
+            return found.size() > index && found.get(index).isDisplayed();
+        } catch (StaleElementReferenceException e) {
+            return false;
+        }
+    }
+
+    private TimeoutException timeout(By locator, int index) {
+        return new TimeoutException("Элемент #" + index + " по локатору " + locator
+                + " не стал видимым за " + this.profile.getTimeout().toMillis() + " мс");
+    }
+}
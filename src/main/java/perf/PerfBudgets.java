@@ -0,0 +1,180 @@
+package perf;
+
+import runner.TestContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Бюджеты производительности страниц сайта и скользящая база сравнения.
+ * <p>
+ * Режим задается свойством {@code scooter.perf}: {@code off} (по умолчанию) — замеры не выполняются,
+ * {@code warn} — нарушения выводятся в журнал, {@code fail} — нарушение роняет тест.
+ * Нарушением считается превышение бюджета из {@code scooter.perf.budgets} (по умолчанию
+ * {@code perf-budgets.properties} из ресурсов) или базы больше чем на {@code scooter.perf.regression}
+ * (по умолчанию 0.3, то есть на 30%) и не меньше чем на {@code scooter.perf.minDeltaMs} (по умолчанию 50 мс).
+ * <p>
+ * База хранится в {@code scooter.perf.baseline} (по умолчанию {@code .perf-baseline.properties})
+ * и при завершении JVM обновляется медианой замеров запуска с экспоненциальным сглаживанием
+ */
+public final class PerfBudgets {
+    private static final double SMOOTHING = 0.3;
+    private static final PerfBudgets SHARED = new PerfBudgets(
+            System.getProperty("scooter.perf", "off"),
+            loadBudgets(System.getProperty("scooter.perf.budgets")),
+            Paths.get(System.getProperty("scooter.perf.baseline", ".perf-baseline.properties")),
+            Double.parseDouble(System.getProperty("scooter.perf.regression", "0.3")),
+            Double.parseDouble(System.getProperty("scooter.perf.minDeltaMs", "50"))
+    );
+
+    private final String mode;
+    private final Map<String, Double> budgets;
+    private final Path baselineFile;
+    private final Map<String, Double> baseline;
+    private final double regression;
+    private final double minDeltaMs;
+    private final Map<String, List<Double>> measured = new ConcurrentHashMap<>();
+
+    PerfBudgets(String mode, Map<String, Double> budgets, Path baselineFile, double regression, double minDeltaMs) {
+        if (!mode.equals("off") && !mode.equals("warn") && !mode.equals("fail")) {
+            throw new IllegalArgumentException("Неизвестный режим scooter.perf: " + mode);
+        }
+        this.mode = mode;
+        this.budgets = budgets;
+        this.baselineFile = baselineFile;
+        this.baseline = loadBaseline(baselineFile);
+        this.regression = regression;
+        this.minDeltaMs = minDeltaMs;
+        if (isEnabled()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(this::updateBaseline, "perf-baseline-update"));
+        }
+    }
+
+    /**
+     * Возвращает общий для JVM экземпляр
+     */
+    public static PerfBudgets shared() {
+        return SHARED;
+    }
+
+    public boolean isEnabled() {
+        return !this.mode.equals("off");
+    }
+
+    /**
+     * Записывает замеры и сверяет их с бюджетами и базой.
+     * @param scope Страница или действие, например {@code main} или {@code orderModal}
+     * @param metrics Значения по именам; имена с окончанием {@code Ms} — длительности
+     * @throws AssertionError в режиме {@code fail}, если есть нарушения
+     */
+    public void check(String scope, Map<String, Double> metrics) {
+        List<String> violations = new ArrayList<>();
+        for (Map.Entry<String, Double> metric : new TreeMap<>(metrics).entrySet()) {
+            String key = scope + "." + metric.getKey();
+            double value = metric.getValue();
+            if (key.endsWith("Ms")) {
+                this.measured.computeIfAbsent(key, name -> Collections.synchronizedList(new ArrayList<>())).add(value);
+            }
+            Double budget = this.budgets.get(key);
+            if (budget != null && value > budget) {
+                violations.add(String.format(Locale.ROOT, "%s = %.0f при бюджете %.0f", key, value, budget));
+            }
+            Double base = this.baseline.get(key);
+            if (base != null && value > base * (1 + this.regression) && value - base >= this.minDeltaMs) {
+                violations.add(String.format(Locale.ROOT, "%s = %.0f при базе %.0f (+%.0f%%)",
+                        key, value, base, (value / base - 1) * 100));
+            }
+        }
+        if (violations.isEmpty()) {
+            return;
+        }
+        String message = "Нарушены бюджеты производительности в " + TestContext.currentName() + ": "
+                + String.join("; ", violations);
+        if (this.mode.equals("fail")) {
+            throw new AssertionError(message);
+        }
+        System.err.println(message);
+    }
+
+    private void updateBaseline() {
+        if (this.measured.isEmpty()) {
+            return;
+        }
+        Map<String, Double> updated = new TreeMap<>(loadBaseline(this.baselineFile));
+        for (Map.Entry<String, List<Double>> entry : this.measured.entrySet()) {
+            List<Double> values = new ArrayList<>(entry.getValue());
+            Collections.sort(values);
+            double median = values.get(values.size() / 2);
+            Double previous = updated.get(entry.getKey());
+            updated.put(entry.getKey(), previous == null ? median : previous * (1 - SMOOTHING) + median * SMOOTHING);
+        }
+        Properties properties = new Properties();
+        updated.forEach((key, value) -> properties.setProperty(key, String.format(Locale.ROOT, "%.1f", value)));
+        try {
+            if (this.baselineFile.getParent() != null) {
+                Files.createDirectories(this.baselineFile.getParent());
+            }
+            try (Writer out = Files.newBufferedWriter(this.baselineFile, StandardCharsets.UTF_8)) {
+                properties.store(out, "База производительности страниц, мс");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Map<String, Double> loadBaseline(Path file) {
+        if (!Files.exists(file)) {
+            return new TreeMap<>();
+        }
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return parse(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Map<String, Double> loadBudgets(String file) {
+        try {
+            if (file != null) {
+                try (Reader in = Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8)) {
+                    return parse(in);
+                }
+            }
+            InputStream resource = PerfBudgets.class.getResourceAsStream("/perf-budgets.properties");
+            if (resource == null) {
+                return new TreeMap<>();
+            }
+            try (Reader in = new InputStreamReader(resource, StandardCharsets.UTF_8)) {
+                return parse(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Map<String, Double> parse(Reader in) throws IOException {
+        Properties properties = new Properties();
+        properties.load(in);
+        Map<String, Double> values = new TreeMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            values.put(name, Double.parseDouble(properties.getProperty(name)));
+        }
+        return values;
+    }
+}
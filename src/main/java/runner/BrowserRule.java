@@ -0,0 +1,79 @@
+package runner;
+
+import artifacts.FailureArtifacts;
+import driver.DriverPool;
+import org.junit.rules.TestWatcher;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Правило, управляющее сессией браузера теста.
+ * <p>
+ * Сессия арендуется из пула при первом обращении к {@link #getDriver()} и возвращается после теста.
+ * На время теста его описание доступно через {@link TestContext}, а длительность теста записывается в {@link TestDurations}.
+ * При падении теста состояние сессии передается в {@link FailureArtifacts} до ее возврата,
+ * а прошедший тест отмечается в {@link TestImpact}.
+ * Если {@link HealthGate} считает сайт недоступным, тест прерывается до аренды сессии
+ */
+public class BrowserRule extends TestWatcher {
+    static {
+        TestImpact.install();
+    }
+
+    private WebDriver driver;
+    private long startedAt;
+
+    /**
+     * Возвращает сессию браузера теста, арендуя ее при первом обращении
+     */
+    public WebDriver getDriver() {
+        if (this.driver == null) {
+            this.driver = DriverPool.shared().lease();
+        }
+        return this.driver;
+    }
+
+    @Override
+    public Statement apply(Statement base, Description description) {
+        Statement watched = super.apply(base, description);
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                HealthGate.shared().check();
+                watched.evaluate();
+            }
+        };
+    }
+
+    @Override
+    protected void starting(Description description) {
+        TestContext.set(description);
+        this.startedAt = System.nanoTime();
+    }
+
+    @Override
+    protected void succeeded(Description description) {
+        TestImpact.passed(description);
+    }
+
+    @Override
+    protected void failed(Throwable e, Description description) {
+        if (this.driver != null && FailureArtifacts.isEnabled()) {
+            FailureArtifacts.shared().capture(this.driver, description.getClassName(), description.getMethodName(), e);
+        }
+    }
+
+    @Override
+    protected void finished(Description description) {
+        TestDurations.record(description, (System.nanoTime() - this.startedAt) / 1_000_000);
+        try {
+            if (this.driver != null) {
+                DriverPool.shared().release(this.driver);
+                this.driver = null;
+            }
+        } finally {
+            TestContext.clear();
+        }
+    }
+}
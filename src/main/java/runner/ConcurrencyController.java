@@ -0,0 +1,215 @@
+package runner;
+
+import driver.DriverPool;
+import metrics.CommandMetrics;
+import metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Подбирает число одновременно работающих браузеров по нагрузке машины.
+ * <p>
+ * Потоки тестов берут разрешение перед набором параметров и возвращают его после. Раз в
+ * {@code scooter.parallel.intervalMs} (по умолчанию 5000) контроллер смотрит на 95-й перцентиль
+ * задержки быстрых команд WebDriver за прошедший интервал, свободную память и загрузку процессора
+ * на ядро. Если задержка выше {@code scooter.parallel.latencyTargetMs} (по умолчанию 500), свободной
+ * памяти меньше {@code scooter.parallel.reserveMb} (по умолчанию 512) или загрузка выше
+ * {@code scooter.parallel.maxLoad} (по умолчанию 1.5), число разрешений уменьшается на четверть
+ * и лишние простаивающие сессии пула закрываются. Если все показатели ниже 80% порогов, разрешения
+ * заняты полностью и памяти хватает еще на один браузер ({@code scooter.parallel.browserMb}, по умолчанию 400),
+ * число разрешений растет на одно.
+ * <p>
+ * Число разрешений лежит между {@code scooter.parallel.minThreads} (по умолчанию 1) и числом потоков раннера;
+ * начальное значение — наименьшее из числа потоков, числа ядер и числа браузеров, помещающихся в свободную память.
+ * Изменения числа разрешений выводятся при {@code scooter.parallel.verbose=true}
+ */
+public final class ConcurrencyController {
+    private static final Path MEMINFO = Paths.get("/proc/meminfo");
+    private static final boolean VERBOSE = Boolean.getBoolean("scooter.parallel.verbose");
+    private static ConcurrencyController shared;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTargetMs;
+    private final long reserveMb;
+    private final long browserMb;
+    private final double maxLoad;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = this.lock.newCondition();
+    private int limit;
+    private int active;
+    private int peakActive;
+
+    /**
+     * @param minLimit Наименьшее число разрешений
+     * @param maxLimit Наибольшее число разрешений
+     */
+    ConcurrencyController(int minLimit, int maxLimit, double latencyTargetMs, long reserveMb, long browserMb,
+                          double maxLoad) {
+        this.minLimit = Math.max(1, Math.min(minLimit, maxLimit));
+        this.maxLimit = maxLimit;
+        this.latencyTargetMs = latencyTargetMs;
+        this.reserveMb = reserveMb;
+        this.browserMb = browserMb;
+        this.maxLoad = maxLoad;
+        long freeMb = freeMemoryMb();
+        int byMemory = freeMb < 0 ? maxLimit : (int) Math.max(0, (freeMb - reserveMb) / browserMb);
+        int cores = Runtime.getRuntime().availableProcessors();
+        this.limit = clamp(Math.min(maxLimit, Math.min(cores, byMemory)));
+    }
+
+    /**
+     * Включено ли подстраивание числа браузеров свойством {@code scooter.parallel.adaptive}
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean("scooter.parallel.adaptive");
+    }
+
+    /**
+     * Возвращает общий контроллер, при первом вызове создавая его и запуская наблюдение
+     * @param maxLimit Наибольшее число разрешений — число потоков раннера
+     */
+    public static synchronized ConcurrencyController shared(int maxLimit) {
+        if (shared == null) {
+            CommandMetrics.watchLatency();
+            shared = new ConcurrencyController(
+                    Integer.getInteger("scooter.parallel.minThreads", 1),
+                    maxLimit,
+                    Double.parseDouble(System.getProperty("scooter.parallel.latencyTargetMs", "500")),
+                    Long.getLong("scooter.parallel.reserveMb", 512),
+                    Long.getLong("scooter.parallel.browserMb", 400),
+                    Double.parseDouble(System.getProperty("scooter.parallel.maxLoad", "1.5"))
+            );
+            shared.start(Long.getLong("scooter.parallel.intervalMs", 5000));
+        }
+        return shared;
+    }
+
+    /**
+     * Ждет свободного разрешения
+     */
+    public void acquire() throws InterruptedException {
+        this.lock.lock();
+        try {
+            while (this.active >= this.limit) {
+                this.available.await();
+            }
+            this.active++;
+            this.peakActive = Math.max(this.peakActive, this.active);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public void release() {
+        this.lock.lock();
+        try {
+            this.active--;
+            this.available.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        this.lock.lock();
+        try {
+            return this.limit;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Пересчитывает число разрешений по показателям прошедшего интервала
+     * @param p95Ms 95-й перцентиль задержки команд или 0, если команд не было
+     * @param freeMb Свободная память или -1, если она неизвестна
+     * @param loadPerCore Средняя загрузка на ядро или -1, если она неизвестна
+     */
+    void adjust(double p95Ms, long freeMb, double loadPerCore) {
+        int before;
+        int after;
+        boolean saturated;
+        this.lock.lock();
+        try {
+            before = this.limit;
+            saturated = this.peakActive >= this.limit;
+            this.peakActive = this.active;
+            boolean overloaded = p95Ms > this.latencyTargetMs
+                    || (freeMb >= 0 && freeMb < this.reserveMb)
+                    || loadPerCore > this.maxLoad;
+            boolean headroom = p95Ms <= this.latencyTargetMs * 0.8
+                    && (freeMb < 0 || freeMb > this.reserveMb + this.browserMb)
+                    && loadPerCore <= this.maxLoad * 0.8;
+            if (overloaded) {
+                this.limit = clamp(this.limit - Math.max(1, this.limit / 4));
+            } else if (headroom && saturated) {
+                this.limit = clamp(this.limit + 1);
+                this.available.signalAll();
+            }
+            after = this.limit;
+        } finally {
+            this.lock.unlock();
+        }
+        if (VERBOSE && after != before) {
+            System.err.printf("Браузеров: %d -> %d (p95 команд %.0f мс, свободно %d МБ, загрузка на ядро %.2f)%n",
+                    before, after, p95Ms, freeMb, loadPerCore);
+        }
+        if (after < before) {
+            DriverPool.shared().trimIdle(after);
+        }
+    }
+
+    private void start(long intervalMs) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "concurrency-controller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        scheduler.scheduleWithFixedDelay(() -> {
+            LatencyHistogram window = CommandMetrics.drainWindow();
+            double load = os.getSystemLoadAverage();
+            adjust(window.percentileMillis(95), freeMemoryMb(),
+                    load < 0 ? -1 : load / os.getAvailableProcessors());
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private int clamp(int value) {
+        return Math.max(this.minLimit, Math.min(this.maxLimit, value));
+    }
+
+    /**
+     * Доступная память в мегабайтах: {@code MemAvailable} в Linux, иначе свободная физическая память
+     */
+    @SuppressWarnings("deprecation")
+    private static long freeMemoryMb() {
+        try {
+            List<String> lines = Files.readAllLines(MEMINFO, StandardCharsets.US_ASCII);
+            for (String line : lines) {
+                if (line.startsWith("MemAvailable:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) / 1024;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Не Linux — берем показатель JVM
+        }
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getFreePhysicalMemorySize() / (1024 * 1024);
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,234 @@
+package runner;
+
+import org.junit.AssumptionViolatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import pageObjects.MainPage;
+import site.Site;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Проверка доступности тестируемого сайта и прерыватель при его отказе.
+ * <p>
+ * Перед первым тестом адрес сайта запрашивается по HTTP, а при первой загрузке главной
+ * страницы ожидаются ее ключевые элементы. Каждая проверка повторяется до {@value #PROBE_ATTEMPTS} раз (ключевые элементы — с перезагрузкой страницы), и только
+ * если сайт так и не ответил за {@code scooter.health.timeoutMs} (по умолчанию 5000 мс) или ключевые
+ * элементы не появились, прерыватель размыкается, а проверявший тест падает с причиной отказа.
+ * Прерыватель размыкается и во время прогона, когда {@code scooter.health.failures}
+ * (по умолчанию 3) загрузки страниц подряд завершились ошибкой или заняли больше {@code scooter.health.slowMs}
+ * (по умолчанию 20000 мс).
+ * <p>
+ * После размыкания тесты до конца запуска не запускают браузер, а сразу падают
+ * ({@code scooter.health=fail}, по умолчанию) или пропускаются ({@code skip}) с причиной отказа.
+ * Проверка отключается значением {@code off}
+ */
+public final class HealthGate {
+    private static final int PROBE_ATTEMPTS = 3;
+    private static final long PROBE_PAUSE_MS = 1000;
+    private static final HealthGate SHARED = new HealthGate(
+            System.getProperty("scooter.health", "fail"),
+            Duration.ofMillis(Long.getLong("scooter.health.timeoutMs", 5000)),
+            Integer.getInteger("scooter.health.failures", 3),
+            Long.getLong("scooter.health.slowMs", 20000)
+    );
+
+    private final String mode;
+    private final Duration timeout;
+    private final int maxFailures;
+    private final long slowMs;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile String failure;
+    private boolean probed;
+    private boolean keyElementsProbed;
+
+    /**
+     * @param mode {@code skip}, {@code fail} или {@code off}
+     * @param timeout Предельное время ответа сайта при проверке
+     * @param maxFailures Число неудачных загрузок подряд, размыкающее прерыватель
+     * @param slowMs Длительность загрузки, считающаяся неудачной
+     */
+    HealthGate(String mode, Duration timeout, int maxFailures, long slowMs) {
+        if (!mode.equals("skip") && !mode.equals("fail") && !mode.equals("off")) {
+            throw new IllegalArgumentException("Неизвестный режим проверки сайта: " + mode);
+        }
+        this.mode = mode;
+        this.timeout = timeout;
+        this.maxFailures = maxFailures;
+        this.slowMs = slowMs;
+    }
+
+    /**
+     * Возвращает общий для JVM экземпляр
+     */
+    public static HealthGate shared() {
+        return SHARED;
+    }
+
+    /**
+     * Однократно проверяет сайт и прерывает тест, если прерыватель разомкнут
+     * @throws AssumptionViolatedException В режиме {@code skip}
+     * @throws AssertionError В режиме {@code fail}, а также в тесте, при котором проверка не прошла
+     */
+    public void check() {
+        if (this.mode.equals("off")) {
+            return;
+        }
+        synchronized (this) {
+            if (!this.probed) {
+                this.probed = true;
+                probeHttp(Site.baseUrl());
+                if (this.failure != null) {
+                    // Проверявший тест падает в любом режиме, чтобы отказ сайта не выглядел зеленым запуском
+                    throw new AssertionError("Сайт недоступен: " + this.failure);
+                }
+            }
+        }
+        String reason = this.failure;
+        if (reason != null) {
+            if (this.mode.equals("fail")) {
+                throw new AssertionError("Тест не запускался, сайт недоступен: " + reason);
+            }
+            throw new AssumptionViolatedException("Тест не запускался, сайт недоступен: " + reason);
+        }
+    }
+
+    /**
+     * Загружает страницу, учитывая результат в прерывателе. При первой загрузке главной страницы
+     * дополнительно ожидаются ее ключевые элементы
+     */
+    public void load(WebDriver driver, String url) {
+        check();
+        if (this.mode.equals("off")) {
+            driver.get(url);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            driver.get(url);
+        } catch (WebDriverException e) {
+            recordFailure("ошибка загрузки " + url + ": " + e.getClass().getSimpleName());
+            throw e;
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        if (elapsedMs > this.slowMs) {
+            recordFailure("загрузка " + url + " заняла " + elapsedMs + " мс");
+        } else {
+            this.consecutiveFailures.set(0);
+        }
+        if (url.equals(Site.baseUrl()) && claimKeyElementsProbe()) {
+            probeKeyElements(driver, url);
+        }
+        check();
+    }
+
+    /**
+     * Возвращает причину размыкания или {@code null}, если сайт считается доступным
+     */
+    public String getFailure() {
+        return this.failure;
+    }
+
+    /**
+     * Ожидает ключевых элементов главной страницы, перезагружая ее между попытками
+     * @throws AssertionError Если элементы не появились ни в одной попытке
+     */
+    private void probeKeyElements(WebDriver driver, String url) {
+        WebDriverException last = null;
+        for (int attempt = 1; attempt <= PROBE_ATTEMPTS; attempt++) {
+            try {
+                if (attempt > 1) {
+                    driver.get(url);
+                }
+                new MainPage(driver).waitForKeyElements();
+                return;
+            } catch (WebDriverException e) {
+                last = e;
+            }
+        }
+        String reason = "ключевые элементы главной страницы не появились за " + PROBE_ATTEMPTS + " попытки";
+        trip(reason);
+        throw new AssertionError("Сайт недоступен: " + reason, last);
+    }
+
+    private void probeHttp(String url) {
+        String reason = null;
+        for (int attempt = 1; attempt <= PROBE_ATTEMPTS; attempt++) {
+            reason = requestOnce(url);
+            if (reason == null) {
+                return;
+            }
+            if (attempt < PROBE_ATTEMPTS && !pause()) {
+                break;
+            }
+        }
+        trip(reason);
+    }
+
+    /**
+     * Запрашивает сайт один раз
+     * @return Причина отказа или {@code null}, если сайт ответил
+     */
+    private String requestOnce(String url) {
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(this.timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/"))
+                .timeout(this.timeout)
+                .GET()
+                .build();
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status >= 400 ? url + " ответил " + status : null;
+        } catch (IOException e) {
+            return url + " не отвечает: " + e.getClass().getSimpleName();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "проверка " + url + " прервана";
+        }
+    }
+
+    /**
+     * Выдерживает паузу между попытками проверки
+     * @return {@code false}, если поток прерван
+     */
+    private static boolean pause() {
+        try {
+            Thread.sleep(PROBE_PAUSE_MS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Занимает проверку ключевых элементов, если она еще не выполнялась
+     */
+    private synchronized boolean claimKeyElementsProbe() {
+        if (this.keyElementsProbed) {
+            return false;
+        }
+        this.keyElementsProbed = true;
+        return true;
+    }
+
+    private void recordFailure(String reason) {
+        if (this.consecutiveFailures.incrementAndGet() >= this.maxFailures) {
+            trip(this.maxFailures + " загрузки подряд неудачны, последняя: " + reason);
+        }
+    }
+
+    private synchronized void trip(String reason) {
+        if (this.failure == null) {
+            this.failure = reason;
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package runner;
+
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.manipulation.Filter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Запускает только тесты, затронутые изменениями страниц.
+ * <p>
+ * Запуск: {@code java runner.ImpactRunner select|run [классы тестов...]}. Изменения берутся из
+ * {@code git diff} относительно {@code scooter.impact.base} (по умолчанию {@code HEAD}, то есть незафиксированные)
+ * в каталогах {@code pageObjects} и {@code ui}. Измененные строки страниц сопоставляются с методами и полями-локаторами,
+ * а затем с тестами, затронувшими их в прошлых запусках ({@link TestImpact}). Изменение прочих строк страницы
+ * (импорты, конструктор, остальные поля) выбирает все тесты этой страницы, изменение вспомогательных классов
+ * {@code pageObjects} — все тесты, изменение класса тестов — все его тесты. Метод, которого нет ни в одной истории
+ * (например, открывающий страницу по адресу без поиска элементов), выбирает все тесты своей страницы.
+ * Тесты без истории выбираются всегда.
+ * <p>
+ * К выбранным добавляется случайная доля остальных тестов {@code scooter.impact.sample} (по умолчанию 0.1),
+ * выборка меняется раз в сутки или задается {@code scooter.impact.seed}
+ */
+public class ImpactRunner {
+    private static final String PAGE_OBJECTS_DIR = "src/main/java/pageObjects/";
+    private static final String TESTS_DIR = "src/main/java/ui/";
+    private static final String ALL = "*";
+    private static final Pattern FILE = Pattern.compile("^\\+\\+\\+ b/(.+)$|^--- a/(.+)$");
+    private static final Pattern HUNK = Pattern.compile("^@@ -(\\d+)(?:,(\\d+))? \\+(\\d+)(?:,(\\d+))? @@");
+    private static final Pattern METHOD = Pattern.compile(
+            "^    (?:(?:public|protected|private|static|final|synchronized|abstract)\\s+)*(?:<[^>]+>\\s+)?[\\w<>\\[\\],.? ]+\\s+(\\w+)\\s*\\(");
+    private static final Pattern LOCATOR = Pattern.compile(
+            "^    (?:(?:public|protected|private|static|final)\\s+)*By\\s+(\\w+)\\s*=");
+
+    public static void main(String[] args) throws ClassNotFoundException {
+        if (args.length < 1 || !(args[0].equals("select") || args[0].equals("run"))) {
+            System.err.println("Использование: ImpactRunner select|run [классы...]");
+            System.exit(2);
+        }
+        String[] classNames = args.length > 1 ? Arrays.copyOfRange(args, 1, args.length) : ShardRunner.DEFAULT_CLASSES;
+        Class<?>[] classes = new Class<?>[classNames.length];
+        for (int i = 0; i < classNames.length; i++) {
+            classes[i] = Class.forName(classNames[i]);
+        }
+        Request request = Request.classes(classes);
+        List<Description> tests = new ArrayList<>();
+        ShardRunner.collectTests(request.getRunner().getDescription(), tests);
+
+        Map<String, Set<String>> history = TestImpact.loadHistory(TestImpact.historyFile());
+        Set<String> pages = new TreeSet<>();
+        history.values().forEach(symbols -> symbols.forEach(symbol -> pages.add(symbol.split("[#.]", 2)[0])));
+        Set<String> changed = widenUnrecorded(changedSymbols(System.getProperty("scooter.impact.base", "HEAD"), pages),
+                history);
+        Set<String> selected = select(tests, history, changed,
+                Double.parseDouble(System.getProperty("scooter.impact.sample", "0.1")),
+                Long.getLong("scooter.impact.seed", LocalDate.now().toEpochDay()));
+        System.out.println("Изменено: " + changed);
+        System.out.println("Выбрано тестов: " + selected.size() + " из " + tests.size());
+        if (args[0].equals("select")) {
+            selected.forEach(System.out::println);
+            System.exit(0);
+        }
+        if (selected.isEmpty()) {
+            System.exit(0);
+        }
+        Result result = new JUnitCore().run(request.filterWith(new ImpactFilter(selected)));
+        System.exit(result.wasSuccessful() ? 0 : 1);
+    }
+
+    /**
+     * Выбирает тесты, затронутые изменениями, и случайную долю остальных
+     * @param history Затронутые тестами символы из прошлых запусков
+     * @param changed Измененные символы: {@code Страница#метод}, {@code Страница.локатор},
+     *                {@code Страница#*}, {@code ui.Класс#*} или {@code *}
+     */
+    public static Set<String> select(List<Description> tests, Map<String, Set<String>> history, Set<String> changed,
+                                     double sample, long seed) {
+        Set<String> selected = new TreeSet<>();
+        List<String> rest = new ArrayList<>();
+        for (Description test : tests) {
+            String key = TestDurations.key(test);
+            Set<String> symbols = history.get(key);
+            if (symbols == null || affected(key, symbols, changed)) {
+                selected.add(key);
+            } else {
+                rest.add(key);
+            }
+        }
+        Collections.sort(rest);
+        Collections.shuffle(rest, new Random(seed));
+        int extra = (int) Math.ceil(rest.size() * sample);
+        selected.addAll(rest.subList(0, Math.min(extra, rest.size())));
+        return selected;
+    }
+
+    /**
+     * Возвращает символы страниц и тестов, измененные относительно указанной ревизии
+     * @param pages Классы страниц, использование которых записывается по методам и локаторам
+     */
+    public static Set<String> changedSymbols(String base, Set<String> pages) {
+        Set<String> changed = new TreeSet<>();
+        String diff = git("diff", "-U0", base, "--", PAGE_OBJECTS_DIR, TESTS_DIR);
+        String oldPath = null;
+        String newPath = null;
+        List<String> oldLines = Collections.emptyList();
+        List<String> newLines = Collections.emptyList();
+        for (String line : diff.split("\n")) {
+            if (line.startsWith("diff --git ")) {
+                oldPath = null;
+                newPath = null;
+                continue;
+            }
+            Matcher file = FILE.matcher(line);
+            if (file.find()) {
+                if (file.group(2) != null) {
+                    oldPath = file.group(2);
+                    oldLines = Arrays.asList(git("show", base + ":" + oldPath).split("\n", -1));
+                } else {
+                    newPath = file.group(1);
+                    newLines = readLines(Paths.get(newPath));
+                }
+                continue;
+            }
+            if (line.startsWith("--- /dev/null")) {
+                oldPath = null;
+                oldLines = Collections.emptyList();
+                continue;
+            }
+            if (line.startsWith("+++ /dev/null")) {
+                newPath = null;
+                newLines = Collections.emptyList();
+                continue;
+            }
+            Matcher hunk = HUNK.matcher(line);
+            if (hunk.find()) {
+                if (oldPath != null) {
+                    mark(changed, pages, oldPath, oldLines, Integer.parseInt(hunk.group(1)), count(hunk.group(2)));
+                }
+                if (newPath != null) {
+                    mark(changed, pages, newPath, newLines, Integer.parseInt(hunk.group(3)), count(hunk.group(4)));
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Заменяет измененные методы страниц, не записанные ни в одной истории, на {@code Страница#*}:
+     * использования записываются только при поиске элементов, поэтому метод без локаторов
+     * (например, составляющий адрес страницы) в истории не встречается
+     */
+    static Set<String> widenUnrecorded(Set<String> changed, Map<String, Set<String>> history) {
+        Set<String> recorded = new TreeSet<>();
+        history.values().forEach(recorded::addAll);
+        Set<String> widened = new TreeSet<>();
+        for (String symbol : changed) {
+            int hash = symbol.indexOf('#');
+            boolean method = hash > 0 && !symbol.endsWith("#" + ALL) && !symbol.startsWith("ui.");
+            widened.add(method && !recorded.contains(symbol) ? symbol.substring(0, hash) + "#" + ALL : symbol);
+        }
+        return widened;
+    }
+
+    private static boolean affected(String test, Set<String> symbols, Set<String> changed) {
+        if (changed.contains(ALL) && !symbols.isEmpty()) {
+            return true;
+        }
+        if (changed.contains(test.substring(0, test.indexOf('#')) + "#" + ALL)) {
+            return true;
+        }
+        for (String symbol : symbols) {
+            String page = symbol.split("[#.]", 2)[0];
+            if (changed.contains(symbol) || changed.contains(page + "#" + ALL)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Отмечает символы, которым принадлежат строки {@code start..start+length-1} файла.
+     * Пустой диапазон (чистая вставка или удаление) относится к строке {@code start}
+     */
+    private static void mark(Set<String> changed, Set<String> pages, String path, List<String> lines,
+                             int start, int length) {
+        String name = path.substring(path.lastIndexOf('/') + 1).replace(".java", "");
+        if (path.startsWith(TESTS_DIR)) {
+            changed.add("ui." + name + "#" + ALL);
+            return;
+        }
+        if (!pages.contains(name)) {
+            // Вспомогательный класс страниц: использования не записываются, затронуты все тесты
+            changed.add(ALL);
+            return;
+        }
+        String[] members = members(lines, name);
+        int first = Math.max(start, 1);
+        int last = Math.max(first, start + length - 1);
+        for (int number = first; number <= last && number <= members.length; number++) {
+            String member = members[number - 1];
+            changed.add(member == null ? name + "#" + ALL : member);
+        }
+    }
+
+    /**
+     * Сопоставляет строкам исходного кода страницы символы: метод ({@code Страница#метод}),
+     * поле-локатор ({@code Страница.поле}) или {@code null} для остальных строк класса.
+     * Комментарии и аннотации перед объявлением относятся к объявлению
+     */
+    static String[] members(List<String> lines, String className) {
+        String[] members = new String[lines.size()];
+        Pattern constructor = Pattern.compile("^    (?:(?:public|protected|private)\\s+)?" + className + "\\s*\\(");
+        String current = null;
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            boolean classLevel = line.startsWith("    ") && !line.startsWith("     ") && !line.trim().equals("}");
+            if (!line.startsWith("    ") && !line.trim().isEmpty()) {
+                current = null;
+                members[i] = null;
+                continue;
+            }
+            if (!classLevel) {
+                members[i] = current;
+                continue;
+            }
+            String trimmed = line.trim();
+            if (trimmed.startsWith("/*") || trimmed.startsWith("*") || trimmed.startsWith("//") || trimmed.startsWith("@")) {
+                pending.add(i);
+                continue;
+            }
+            Matcher locator = LOCATOR.matcher(line);
+            Matcher method = METHOD.matcher(line);
+            if (locator.find()) {
+                current = className + "." + locator.group(1);
+            } else if (!constructor.matcher(line).find() && method.find()) {
+                current = className + "#" + method.group(1);
+            } else {
+                current = null;
+            }
+            members[i] = current;
+            for (int index : pending) {
+                members[index] = current;
+            }
+            pending.clear();
+        }
+        return members;
+    }
+
+    private static int count(String value) {
+        return value == null ? 1 : Integer.parseInt(value);
+    }
+
+    private static List<String> readLines(Path file) {
+        try {
+            return Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String git(String... args) {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(Arrays.asList(args));
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(false).start();
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            try (InputStream in = process.getInputStream()) {
+                in.transferTo(output);
+            }
+            if (process.waitFor() != 0) {
+                throw new IllegalStateException("Команда завершилась с ошибкой: " + String.join(" ", command));
+            }
+            return output.toString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class ImpactFilter extends Filter {
+        private final Set<String> selected;
+
+        private ImpactFilter(Set<String> selected) {
+            this.selected = selected;
+        }
+
+        @Override
+        public boolean shouldRun(Description description) {
+            if (description.isTest()) {
+                return this.selected.contains(TestDurations.key(description));
+            }
+            for (Description child : description.getChildren()) {
+                if (shouldRun(child)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String describe() {
+            return "тесты, затронутые изменениями страниц";
+        }
+    }
+}
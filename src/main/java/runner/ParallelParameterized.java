@@ -0,0 +1,179 @@
+package runner;
+
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.Parameterized;
+import org.junit.runners.model.RunnerScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Параметризованный раннер, выполняющий наборы параметров в нескольких потоках.
+ * <p>
+ * Число потоков задается свойством {@code scooter.parallel.threads} (по умолчанию 1 — последовательный запуск).
+ * Каждый поток арендует собственную сессию браузера, а события о результатах
+ * буферизуются и передаются дальше строго в порядке объявления параметров.
+ * <p>
+ * При {@code scooter.parallel.adaptive=true} число потоков (по умолчанию — число ядер) становится верхней границей,
+ * а число одновременно выполняемых наборов подбирает {@link ConcurrencyController}
+ */
+public class ParallelParameterized extends Parameterized {
+    private final ThreadLocal<Integer> currentSlot = new ThreadLocal<>();
+    private final List<Slot> slots = new ArrayList<>();
+    private int flushed;
+
+    public ParallelParameterized(Class<?> klass) throws Throwable {
+        super(klass);
+        boolean adaptive = ConcurrencyController.isEnabled();
+        int threads = Integer.getInteger("scooter.parallel.threads",
+                adaptive ? Runtime.getRuntime().availableProcessors() : 1);
+        if (threads > 1) {
+            setScheduler(new PoolScheduler(threads, adaptive ? ConcurrencyController.shared(threads) : null));
+        }
+    }
+
+    @Override
+    protected void runChild(Runner runner, RunNotifier notifier) {
+        Integer index = this.currentSlot.get();
+        if (index == null) {
+            super.runChild(runner, notifier);
+            return;
+        }
+        Slot slot;
+        synchronized (this) {
+            slot = this.slots.get(index);
+        }
+        BufferingNotifier buffer = new BufferingNotifier(notifier);
+        try {
+            super.runChild(runner, buffer);
+        } finally {
+            synchronized (this) {
+                slot.events = buffer.events;
+                flushCompleted();
+            }
+        }
+    }
+
+    /**
+     * Передает события завершенных наборов, пока не встретится еще выполняющийся
+     */
+    private void flushCompleted() {
+        while (this.flushed < this.slots.size() && this.slots.get(this.flushed).events != null) {
+            for (Runnable event : this.slots.get(this.flushed).events) {
+                event.run();
+            }
+            this.flushed++;
+        }
+    }
+
+    private final class PoolScheduler implements RunnerScheduler {
+        private final ExecutorService executor;
+        private final ConcurrencyController controller;
+
+        private PoolScheduler(int threads, ConcurrencyController controller) {
+            this.controller = controller;
+            AtomicInteger counter = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(threads, task -> {
+                Thread thread = new Thread(task, "ui-worker-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        @Override
+        public void schedule(Runnable childStatement) {
+            int index;
+            synchronized (ParallelParameterized.this) {
+                index = ParallelParameterized.this.slots.size();
+                ParallelParameterized.this.slots.add(new Slot());
+            }
+            this.executor.execute(() -> {
+                ParallelParameterized.this.currentSlot.set(index);
+                try {
+                    if (this.controller == null) {
+                        childStatement.run();
+                        return;
+                    }
+                    this.controller.acquire();
+                    try {
+                        childStatement.run();
+                    } finally {
+                        this.controller.release();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    ParallelParameterized.this.currentSlot.remove();
+                }
+            });
+        }
+
+        @Override
+        public void finished() {
+            this.executor.shutdown();
+            try {
+                this.executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static final class Slot {
+        private List<Runnable> events;
+    }
+
+    /**
+     * Накапливает события одного набора параметров для последующей упорядоченной передачи
+     */
+    private static final class BufferingNotifier extends RunNotifier {
+        private final RunNotifier target;
+        private final List<Runnable> events = new ArrayList<>();
+
+        private BufferingNotifier(RunNotifier target) {
+            this.target = target;
+        }
+
+        @Override
+        public void fireTestSuiteStarted(Description description) {
+            this.events.add(() -> this.target.fireTestSuiteStarted(description));
+        }
+
+        @Override
+        public void fireTestSuiteFinished(Description description) {
+            this.events.add(() -> this.target.fireTestSuiteFinished(description));
+        }
+
+        @Override
+        public void fireTestStarted(Description description) {
+            this.events.add(() -> this.target.fireTestStarted(description));
+        }
+
+        @Override
+        public void fireTestFailure(Failure failure) {
+            this.events.add(() -> this.target.fireTestFailure(failure));
+        }
+
+        @Override
+        public void fireTestAssumptionFailed(Failure failure) {
+            this.events.add(() -> this.target.fireTestAssumptionFailed(failure));
+        }
+
+        @Override
+        public void fireTestIgnored(Description description) {
+            this.events.add(() -> this.target.fireTestIgnored(description));
+        }
+
+        @Override
+        public void fireTestFinished(Description description) {
+            this.events.add(() -> this.target.fireTestFinished(description));
+        }
+    }
+}
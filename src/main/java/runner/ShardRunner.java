@@ -0,0 +1,269 @@
+package runner;
+
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Запускает часть (шард) UI-тестов, сбалансированную по историческим длительностям.
+ * <p>
+ * Запуск шарда: {@code java runner.ShardRunner run <номер шарда> <число шардов> [классы тестов...]}.
+ * Наборы параметров распределяются жадно от самых долгих к самым коротким в наименее загруженный шард;
+ * тестам без истории назначается медиана известных длительностей. Каждый шард пишет отчет
+ * {@code shard-<номер>.tsv} в {@code scooter.shards.dir} (по умолчанию {@code target/shards}).
+ * <p>
+ * Сведение: {@code java runner.ShardRunner merge} объединяет отчеты в {@code merged.tsv},
+ * обновляет историю длительностей прошедших и упавших тестов, замеренных правилом, и завершается с ошибкой, если хотя бы один тест упал
+ */
+public class ShardRunner {
+    static final String[] DEFAULT_CLASSES = {
+            "ui.MainPageLinksTests",
+            "ui.MainPageSectionTests",
+            "ui.OrderPageTests",
+            "ui.TrackPageTests"
+    };
+    private static final long DEFAULT_DURATION_MS = 10_000;
+
+    public static void main(String[] args) throws ClassNotFoundException {
+        Path reports = Paths.get(System.getProperty("scooter.shards.dir", "target/shards"));
+        if (args.length >= 1 && args[0].equals("merge")) {
+            System.exit(merge(reports) ? 0 : 1);
+        }
+        int shard = -1;
+        int shards = 0;
+        if (args.length >= 3 && args[0].equals("run")) {
+            try {
+                shard = Integer.parseInt(args[1]);
+                shards = Integer.parseInt(args[2]);
+            } catch (NumberFormatException e) {
+                // Сообщается ниже вместе с прочими ошибками аргументов
+            }
+        }
+        // Номер шарда считается с нуля
+        if (shards <= 0 || shard < 0 || shard >= shards) {
+            System.err.println("Использование: ShardRunner run <номер шарда> <число шардов> [классы...] | merge");
+            System.err.println("Число шардов должно быть положительным, а номер шарда — от 0 до числа шардов минус один");
+            System.exit(2);
+        }
+        String[] classNames = args.length > 3 ? Arrays.copyOfRange(args, 3, args.length) : DEFAULT_CLASSES;
+        Class<?>[] classes = new Class<?>[classNames.length];
+        for (int i = 0; i < classNames.length; i++) {
+            classes[i] = Class.forName(classNames[i]);
+        }
+        System.exit(runShard(classes, shard, shards, reports) ? 0 : 1);
+    }
+
+    /**
+     * Запускает тесты указанного шарда и записывает его отчет
+     */
+    public static boolean runShard(Class<?>[] classes, int shard, int shards, Path reports) {
+        Request request = Request.classes(classes);
+        List<Description> tests = new ArrayList<>();
+        collectTests(request.getRunner().getDescription(), tests);
+
+        List<Set<String>> partition = partition(tests, shards, TestDurations.loadHistory(TestDurations.historyFile()));
+        Set<String> selected = partition.get(shard);
+
+        ReportListener report = new ReportListener();
+        JUnitCore core = new JUnitCore();
+        core.addListener(report);
+        Result result = core.run(request.filterWith(new ShardFilter(selected, shard, shards)));
+        report.write(reports.resolve("shard-" + shard + ".tsv"));
+        return result.wasSuccessful();
+    }
+
+    /**
+     * Делит тесты на шарды методом "самый долгий — в наименее загруженный шард"
+     */
+    public static List<Set<String>> partition(List<Description> tests, int shards, Map<String, Long> history) {
+        long fallback = median(history);
+        List<String> keys = new ArrayList<>();
+        for (Description test : tests) {
+            keys.add(TestDurations.key(test));
+        }
+        keys.sort(Comparator.<String>comparingLong(key -> history.getOrDefault(key, fallback)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        List<Set<String>> partition = new ArrayList<>();
+        long[] loads = new long[shards];
+        for (int i = 0; i < shards; i++) {
+            partition.add(new HashSet<>());
+        }
+        for (String key : keys) {
+            int lightest = 0;
+            for (int i = 1; i < shards; i++) {
+                if (loads[i] < loads[lightest]) {
+                    lightest = i;
+                }
+            }
+            partition.get(lightest).add(key);
+            loads[lightest] += history.getOrDefault(key, fallback);
+        }
+        return partition;
+    }
+
+    /**
+     * Объединяет отчеты шардов и обновляет историю длительностей
+     * @return {@code true}, если все тесты прошли
+     */
+    public static boolean merge(Path reports) {
+        Map<String, String[]> rows = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(reports, "shard-*.tsv")) {
+            for (Path file : files) {
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    String[] columns = line.split("\t", -1);
+                    if (columns.length == 4) {
+                        rows.put(columns[0], columns);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Map<String, Long> durations = new LinkedHashMap<>();
+        List<String> merged = new ArrayList<>();
+        int failed = 0;
+        for (String[] columns : rows.values()) {
+            // Пропущенные тесты и тесты без замера правилом не говорят о реальной длительности
+            boolean ran = columns[1].equals("PASSED") || columns[1].equals("FAILED");
+            if (ran && !columns[2].isEmpty()) {
+                durations.put(columns[0], Long.parseLong(columns[2]));
+            }
+            merged.add(String.join("\t", columns));
+            if (columns[1].equals("FAILED")) {
+                failed++;
+            }
+        }
+        TestDurations.updateHistory(TestDurations.historyFile(), durations);
+        try {
+            Files.write(reports.resolve("merged.tsv"), merged, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.out.println("Тестов: " + rows.size() + ", упало: " + failed);
+        return failed == 0;
+    }
+
+    static void collectTests(Description description, List<Description> tests) {
+        if (description.isTest()) {
+            tests.add(description);
+        }
+        for (Description child : description.getChildren()) {
+            collectTests(child, tests);
+        }
+    }
+
+    private static long median(Map<String, Long> history) {
+        if (history.isEmpty()) {
+            return DEFAULT_DURATION_MS;
+        }
+        List<Long> values = new ArrayList<>(history.values());
+        Collections.sort(values);
+        return values.get(values.size() / 2);
+    }
+
+    private static final class ShardFilter extends Filter {
+        private final Set<String> selected;
+        private final String label;
+
+        private ShardFilter(Set<String> selected, int shard, int shards) {
+            this.selected = selected;
+            this.label = "шард " + shard + " из " + shards;
+        }
+
+        @Override
+        public boolean shouldRun(Description description) {
+            if (description.isTest()) {
+                return this.selected.contains(TestDurations.key(description));
+            }
+            for (Description child : description.getChildren()) {
+                if (shouldRun(child)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String describe() {
+            return this.label;
+        }
+    }
+
+    /**
+     * Записывает результат каждого теста: ключ, статус, длительность по замеру правила и сообщение об ошибке
+     */
+    private static final class ReportListener extends RunListener {
+        private final Map<String, String> statuses = new TreeMap<>();
+        private final Map<String, String> messages = new TreeMap<>();
+
+        @Override
+        public synchronized void testStarted(Description description) {
+            this.statuses.put(TestDurations.key(description), "PASSED");
+        }
+
+        @Override
+        public synchronized void testFailure(Failure failure) {
+            fail(failure, "FAILED");
+        }
+
+        @Override
+        public synchronized void testAssumptionFailure(Failure failure) {
+            fail(failure, "SKIPPED");
+        }
+
+        @Override
+        public synchronized void testIgnored(Description description) {
+            this.statuses.put(TestDurations.key(description), "SKIPPED");
+        }
+
+        private void fail(Failure failure, String status) {
+            String key = TestDurations.key(failure.getDescription());
+            this.statuses.put(key, status);
+            this.messages.put(key, failure.getMessage() == null ? failure.getException().toString() : failure.getMessage());
+        }
+
+        private synchronized void write(Path file) {
+            // Длительность, измеренная правилом в потоке теста, точнее времени событий,
+            // которые при параллельном запуске передаются с задержкой. Без замера правилом
+            // (тест не дошел до правила или не использует его) длительность остается пустой
+            Map<String, Long> measured = TestDurations.measured();
+            List<String> lines = new ArrayList<>();
+            for (Map.Entry<String, String> entry : this.statuses.entrySet()) {
+                String key = entry.getKey();
+                Long millis = measured.get(key);
+                String message = this.messages.getOrDefault(key, "").replaceAll("[\\t\\r\\n]+", " ");
+                lines.add(key + "\t" + entry.getValue() + "\t" + (millis == null ? "" : millis) + "\t" + message);
+            }
+            try {
+                Files.createDirectories(file.getParent());
+                Files.write(file, lines, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
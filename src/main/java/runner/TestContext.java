@@ -0,0 +1,41 @@
+package runner;
+
+import org.junit.runner.Description;
+
+/**
+ * Текущий тест потока выполнения
+ */
+public final class TestContext {
+    private static final ThreadLocal<Description> CURRENT = new ThreadLocal<>();
+
+    private TestContext() {
+    }
+
+    static void set(Description description) {
+        CURRENT.set(description);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Возвращает описание текущего теста или {@code null} вне теста
+     */
+    public static Description current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Возвращает имя текущего теста в виде "Класс.метод[параметры]" или "-" вне теста
+     */
+    public static String currentName() {
+        Description description = CURRENT.get();
+        if (description == null) {
+            return "-";
+        }
+        String className = description.getTestClass() == null
+                ? description.getClassName() : description.getTestClass().getSimpleName();
+        return className + "." + description.getMethodName();
+    }
+}
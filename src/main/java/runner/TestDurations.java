@@ -0,0 +1,98 @@
+package runner;
+
+import org.junit.runner.Description;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Длительности тестов: измеренные в текущем запуске и исторические из файла.
+ * <p>
+ * История хранится в {@code scooter.durations.file} (по умолчанию {@code .test-durations.properties})
+ * и обновляется экспоненциальным сглаживанием, чтобы единичный медленный запуск не перекраивал шарды
+ */
+public final class TestDurations {
+    private static final double SMOOTHING = 0.5;
+    private static final Map<String, Long> MEASURED = new ConcurrentHashMap<>();
+
+    private TestDurations() {
+    }
+
+    /**
+     * Возвращает ключ теста "Класс#метод[параметры]"
+     */
+    public static String key(Description description) {
+        return description.getClassName() + "#" + description.getMethodName();
+    }
+
+    static void record(Description description, long millis) {
+        MEASURED.put(key(description), millis);
+    }
+
+    /**
+     * Возвращает длительности, измеренные в текущем запуске
+     */
+    public static Map<String, Long> measured() {
+        return new TreeMap<>(MEASURED);
+    }
+
+    public static Path historyFile() {
+        return Paths.get(System.getProperty("scooter.durations.file", ".test-durations.properties"));
+    }
+
+    /**
+     * Читает историю длительностей
+     */
+    public static Map<String, Long> loadHistory(Path file) {
+        Map<String, Long> history = new TreeMap<>();
+        if (!Files.exists(file)) {
+            return history;
+        }
+        Properties properties = new Properties();
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        for (String name : properties.stringPropertyNames()) {
+            history.put(name, Long.parseLong(properties.getProperty(name)));
+        }
+        return history;
+    }
+
+    /**
+     * Добавляет новые измерения в историю и сохраняет ее
+     */
+    public static void updateHistory(Path file, Map<String, Long> measurements) {
+        Map<String, Long> history = loadHistory(file);
+        for (Map.Entry<String, Long> entry : measurements.entrySet()) {
+            Long previous = history.get(entry.getKey());
+            long value = previous == null
+                    ? entry.getValue()
+                    : Math.round(previous * (1 - SMOOTHING) + entry.getValue() * SMOOTHING);
+            history.put(entry.getKey(), value);
+        }
+        Properties properties = new Properties();
+        history.forEach((key, value) -> properties.setProperty(key, Long.toString(value)));
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                properties.store(out, "Длительности тестов, мс");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package runner;
+
+import metrics.CommandListener;
+import metrics.InstrumentedDriver;
+import org.junit.runner.Description;
+import org.openqa.selenium.By;
+import pageObjects.PageLocators;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Связь тестов с затронутыми ими методами и локаторами страниц.
+ * <p>
+ * Использования снимаются с команд драйверов через {@link InstrumentedDriver}: локаторы поиска
+ * и пары "стратегия, выражение" из аргументов сценариев ({@code ScriptLocator}) сопоставляются
+ * с полями страниц из {@link PageLocators}. Для текущего теста запоминаются поле-локатор ({@code MainPage.yandexLogoLink})
+ * и все методы страниц в стеке вызова команды ({@code MainPage#getYandexLogoUrl}). Команды из конструкторов
+ * страниц, не из страниц и вне тестов не учитываются. Использования в общей для нескольких тестов работе (пакетное чтение)
+ * записываются в отдельный набор между {@link #shareWith(Set)} и {@link #endSharing()},
+ * а затем засчитываются каждому тесту, использующему результат, через {@link #credit(Set)}.
+ * <p>
+ * При завершении JVM связи прошедших в запуске тестов заменяются в {@code scooter.impact.file}
+ * (по умолчанию {@code .test-impact.properties}), а связи упавших и пропущенных, выполненных лишь частично,
+ * добавляются к прежним. Запись отключается свойством {@code scooter.impact=false}
+ */
+public final class TestImpact {
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("scooter.impact", "true"));
+    private static final String PAGE_OBJECTS = "pageObjects.";
+    private static final StackWalker WALKER = StackWalker.getInstance();
+    // Стратегии, которые ScriptLocator передает в сценарии
+    private static final Set<String> STRATEGIES = new HashSet<>(Arrays.asList(
+            "xpath", "cssSelector", "className", "id", "name", "tagName", "linkText", "partialLinkText"));
+    private static final Map<String, Set<String>> TOUCHED = new ConcurrentHashMap<>();
+    private static final Set<String> PASSED = ConcurrentHashMap.newKeySet();
+    private static final ThreadLocal<Set<String>> SHARED = new ThreadLocal<>();
+    private static boolean installed;
+
+    private TestImpact() {
+    }
+
+    /**
+     * Подключает запись использований к командам драйверов и к завершению JVM.
+     * Вызывается до создания сессий; повторные вызовы ничего не делают
+     */
+    static synchronized void install() {
+        if (!ENABLED || installed) {
+            return;
+        }
+        installed = true;
+        InstrumentedDriver.addListener(new LocatorListener());
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (!TOUCHED.isEmpty()) {
+                updateHistory(historyFile(), touched(), new HashSet<>(PASSED));
+            }
+        }, "test-impact-update"));
+    }
+
+    /**
+     * Отмечает, что тест прошел и его связи полны
+     */
+    static void passed(Description description) {
+        PASSED.add(TestDurations.key(description));
+    }
+
+    /**
+     * Отмечает использование локаторов текущим тестом
+     * @param locators Текстовые представления локаторов команды
+     */
+    private static void touch(List<String> locators) {
+        Set<String> shared = SHARED.get();
+        Description test = TestContext.current();
+        if (shared == null && test == null) {
+            return;
+        }
+        List<String> methods = WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(PAGE_OBJECTS))
+                .map(frame -> frame.getClassName().substring(PAGE_OBJECTS.length()) + "#" + methodName(frame.getMethodName()))
+                .filter(method -> PageLocators.isPage(method.substring(0, method.indexOf('#'))))
+                .collect(Collectors.toList()));
+        if (methods.isEmpty() || methods.get(0).endsWith("#<init>")) {
+            return;
+        }
+        Set<String> symbols = shared != null
+                ? shared : TOUCHED.computeIfAbsent(TestDurations.key(test), key -> ConcurrentHashMap.newKeySet());
+        for (String method : methods) {
+            if (!method.endsWith("#<init>")) {
+                symbols.add(method);
+            }
+        }
+        String page = methods.get(0).substring(0, methods.get(0).indexOf('#'));
+        for (String locator : locators) {
+            String field = PageLocators.field(page, locator);
+            if (field != null) {
+                symbols.add(field);
+            }
+        }
+    }
+
+    /**
+     * Собирает локаторы из аргументов команды: объекты {@link By} и пары "стратегия, выражение"
+     */
+    private static void collectLocators(Object argument, List<String> locators) {
+        if (argument instanceof By) {
+            locators.add(argument.toString());
+            return;
+        }
+        List<?> values = argument instanceof Object[] ? Arrays.asList((Object[]) argument)
+                : argument instanceof List ? (List<?>) argument : null;
+        if (values == null) {
+            return;
+        }
+        if (values.size() == 2 && values.get(1) instanceof String && STRATEGIES.contains(values.get(0))) {
+            locators.add("By." + values.get(0) + ": " + values.get(1));
+            return;
+        }
+        for (Object value : values) {
+            collectLocators(value, locators);
+        }
+    }
+
+    /**
+     * Направляет использования в текущем потоке в общий набор вместо текущего теста
+     * @param symbols Потокобезопасный набор, накапливающий символы общей работы
+     */
+    public static void shareWith(Set<String> symbols) {
+        SHARED.set(symbols);
+    }
+
+    /**
+     * Возвращает запись использований текущему тесту
+     */
+    public static void endSharing() {
+        SHARED.remove();
+    }
+
+    /**
+     * Засчитывает текущему тесту символы общей работы, результат которой он проверяет
+     */
+    public static void credit(Set<String> symbols) {
+        Description test = TestContext.current();
+        if (!ENABLED || test == null) {
+            return;
+        }
+        TOUCHED.computeIfAbsent(TestDurations.key(test), key -> ConcurrentHashMap.newKeySet()).addAll(symbols);
+    }
+
+    /**
+     * Возвращает связи тестов текущего запуска
+     */
+    public static Map<String, Set<String>> touched() {
+        Map<String, Set<String>> result = new TreeMap<>();
+        TOUCHED.forEach((test, symbols) -> result.put(test, new TreeSet<>(symbols)));
+        return result;
+    }
+
+    public static Path historyFile() {
+        return Paths.get(System.getProperty("scooter.impact.file", ".test-impact.properties"));
+    }
+
+    /**
+     * Читает сохраненные связи тестов
+     */
+    public static Map<String, Set<String>> loadHistory(Path file) {
+        Map<String, Set<String>> history = new TreeMap<>();
+        if (!Files.exists(file)) {
+            return history;
+        }
+        Properties properties = new Properties();
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        for (String name : properties.stringPropertyNames()) {
+            String value = properties.getProperty(name);
+            history.put(name, value.isEmpty() ? new TreeSet<>() : new TreeSet<>(Arrays.asList(value.split(","))));
+        }
+        return history;
+    }
+
+    /**
+     * Заменяет связи прошедших тестов, дополняет связи остальных выполненных и сохраняет историю
+     * @param passed Ключи прошедших тестов
+     */
+    public static void updateHistory(Path file, Map<String, Set<String>> measurements, Set<String> passed) {
+        Map<String, Set<String>> history = loadHistory(file);
+        measurements.forEach((test, symbols) -> {
+            if (passed.contains(test)) {
+                history.put(test, symbols);
+            } else {
+                // Тест оборвался, не дойдя до части страниц, поэтому прежние связи сохраняются
+                history.computeIfAbsent(test, key -> new TreeSet<>()).addAll(symbols);
+            }
+        });
+        Properties properties = new Properties();
+        history.forEach((key, symbols) -> properties.setProperty(key, String.join(",", symbols)));
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                properties.store(out, "Методы и локаторы страниц, затронутые тестами");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Имя метода без обертки лямбды: {@code lambda$fillOrder$0} -> {@code fillOrder}
+     */
+    private static String methodName(String name) {
+        if (name.startsWith("lambda$")) {
+            int end = name.indexOf('$', 7);
+            return end > 7 ? name.substring(7, end) : name;
+        }
+        return name;
+    }
+
+    private static final class LocatorListener implements CommandListener {
+        @Override
+        public void beforeCommand(String command, Object[] arguments) {
+            if (arguments == null) {
+                return;
+            }
+            List<String> locators = new ArrayList<>();
+            collectLocators(arguments, locators);
+            if (!locators.isEmpty()) {
+                touch(locators);
+            }
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package site;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Встроенный HTTP-сервер, отдающий записанный снимок сайта и заглушки API заказов и поиска станций.
+ * <p>
+ * Пути без расширения отдают {@code index.html}, чтобы маршруты одностраничного приложения
+ * ({@code /order}, {@code /track}) открывались напрямую. Файлы снимка читаются один раз и хранятся в памяти
+ */
+public class LocalSiteServer {
+    private static final String API_ORDERS = "/api/v1/orders";
+    private static final String API_STATIONS = "/api/v1/stations/search";
+    private static final Pattern TRACK_PARAMETER = Pattern.compile("(?:^|&)(?:t|track)=(\\d+)");
+
+    private final Path root;
+    private final HttpServer server;
+    private final Map<String, byte[]> files = new ConcurrentHashMap<>();
+    private final Map<Integer, String> orders = new ConcurrentHashMap<>();
+    private final AtomicInteger nextTrack = new AtomicInteger(100000);
+
+    /**
+     * @param root Каталог снимка сайта
+     * @param port Порт; 0 — любой свободный
+     */
+    public LocalSiteServer(Path root, int port) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.server.createContext(API_ORDERS, this::handleOrders);
+        this.server.createContext(API_STATIONS, this::handleStations);
+        this.server.createContext("/", this::handleStatic);
+        this.server.setExecutor(Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "local-site");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * Поднимает общий для JVM сервер из снимка, выбранного свойствами
+     * {@code scooter.snapshot.dir} и {@code scooter.snapshot}
+     */
+    static LocalSiteServer startShared() {
+        Path snapshots = Paths.get(System.getProperty("scooter.snapshot.dir", "snapshots"));
+        // Поток диспетчера наследует признак демона от создающего потока,
+        // поэтому сервер создается в потоке-демоне и не удерживает JVM после завершения тестов
+        FutureTask<LocalSiteServer> startup = new FutureTask<>(() -> {
+            String version = System.getProperty("scooter.snapshot");
+            if (version == null) {
+                version = new String(Files.readAllBytes(snapshots.resolve(SiteRecorder.LATEST_FILE)),
+                        StandardCharsets.UTF_8).trim();
+            }
+            LocalSiteServer server = new LocalSiteServer(snapshots.resolve(version),
+                    Integer.getInteger("scooter.site.port", 0));
+            server.start();
+            return server;
+        });
+        Thread starter = new Thread(startup, "local-site-start");
+        starter.setDaemon(true);
+        starter.start();
+        try {
+            LocalSiteServer server = startup.get();
+            Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "local-site-shutdown"));
+            return server;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Запуск локальной копии сайта прерван", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Не удалось поднять локальную копию сайта из " + snapshots.toAbsolutePath()
+                    + ". Запишите снимок: java site.SiteRecorder", e.getCause());
+        }
+    }
+
+    public void start() {
+        this.server.start();
+    }
+
+    public void stop() {
+        this.server.stop(0);
+    }
+
+    /**
+     * Возвращает адрес сервера без завершающего слэша
+     */
+    public String getBaseUrl() {
+        return "http://" + this.server.getAddress().getHostString() + ":" + this.server.getAddress().getPort();
+    }
+
+    private void handleStatic(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String name = path.substring(path.lastIndexOf('/') + 1);
+        if (path.endsWith("/") || !name.contains(".")) {
+            path = "/index.html";
+        }
+        byte[] body = this.files.computeIfAbsent(path, this::readFile);
+        if (body == null) {
+            send(exchange, 404, "text/plain; charset=utf-8", "Not found".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        send(exchange, 200, contentType(path), body);
+    }
+
+    /**
+     * Заглушки API заказов: создание, поиск по номеру и отмена
+     */
+    private void handleOrders(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        Integer track = trackParameter(exchange.getRequestURI().getRawQuery());
+
+        if ("POST".equals(method) && API_ORDERS.equals(path)) {
+            int created = this.nextTrack.getAndIncrement();
+            this.orders.put(created, readBody(exchange));
+            sendJson(exchange, 201, "{\"track\":" + created + "}");
+        } else if ("GET".equals(method) && path.equals(API_ORDERS + "/track")) {
+            String order = track == null ? null : this.orders.get(track);
+            if (order == null) {
+                sendJson(exchange, 404, "{\"code\":404,\"message\":\"Заказ не найден\"}");
+            } else {
+                sendJson(exchange, 200, "{\"order\":" + withTrack(order, track) + "}");
+            }
+        } else if ("PUT".equals(method) && path.equals(API_ORDERS + "/cancel")) {
+            if (track == null || this.orders.remove(track) == null) {
+                sendJson(exchange, 404, "{\"code\":404,\"message\":\"Заказ не найден\"}");
+            } else {
+                sendJson(exchange, 200, "{\"ok\":true}");
+            }
+        } else {
+            sendJson(exchange, 404, "{\"code\":404,\"message\":\"Not found\"}");
+        }
+    }
+
+    /**
+     * Заглушка поиска станций метро: возвращает запрошенную станцию с номером, вычисленным по названию
+     */
+    private void handleStations(HttpExchange exchange) throws IOException {
+        String name = queryParameter(exchange.getRequestURI().getRawQuery(), "s");
+        int number = Math.floorMod(name.hashCode(), 300) + 1;
+        sendJson(exchange, 200, "[{\"number\":\"" + number + "\",\"name\":\"" + jsonEscape(name)
+                + "\",\"color\":\"#D92B2C\"}]");
+    }
+
+    private byte[] readFile(String path) {
+        try {
+            Path file = resolve(path);
+            return Files.isRegularFile(file) ? Files.readAllBytes(file) : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path resolve(String path) {
+        Path file = this.root.resolve(path.substring(1)).normalize();
+        return file.startsWith(this.root) ? file : this.root.resolve("index.html");
+    }
+
+    private static String withTrack(String order, int track) {
+        String body = order.trim();
+        if (!body.startsWith("{")) {
+            return "{\"track\":" + track + "}";
+        }
+        String rest = body.substring(1).trim();
+        return "{\"track\":" + track + (rest.equals("}") ? "}" : "," + rest);
+    }
+
+    private static Integer trackParameter(String query) {
+        if (query == null) {
+            return null;
+        }
+        Matcher matcher = TRACK_PARAMETER.matcher(query);
+        return matcher.find() ? Integer.valueOf(matcher.group(1)) : null;
+    }
+
+    /**
+     * Возвращает раскодированное значение параметра запроса или пустую строку
+     */
+    private static String queryParameter(String rawQuery, String name) {
+        if (rawQuery == null) {
+            return "";
+        }
+        for (String pair : rawQuery.split("&")) {
+            if (pair.startsWith(name + "=")) {
+                String value = pair.substring(name.length() + 1);
+                try {
+                    return URLDecoder.decode(value, StandardCharsets.UTF_8);
+                } catch (IllegalArgumentException e) {
+                    // Некорректная %-последовательность — значение отдается как есть
+                    return value;
+                }
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Экранирует строку для вставки в JSON: кавычки, обратную косую черту и управляющие символы
+     */
+    private static String jsonEscape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < 0x20) {
+                escaped.append(String.format("\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+        send(exchange, status, "application/json; charset=utf-8", json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String contentType(String path) {
+        String extension = path.substring(path.lastIndexOf('.') + 1).toLowerCase();
+        switch (extension) {
+            case "html": return "text/html; charset=utf-8";
+            case "js": return "application/javascript; charset=utf-8";
+            case "css": return "text/css; charset=utf-8";
+            case "json": return "application/json; charset=utf-8";
+            case "svg": return "image/svg+xml";
+            case "png": return "image/png";
+            case "jpg":
+            case "jpeg": return "image/jpeg";
+            case "gif": return "image/gif";
+            case "ico": return "image/x-icon";
+            case "woff": return "font/woff";
+            case "woff2": return "font/woff2";
+            case "ttf": return "font/ttf";
+            default: return "application/octet-stream";
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package site;
+
+/**
+ * Определяет адрес тестируемого сайта.
+ * <p>
+ * Свойство {@code scooter.baseUrl} задает адрес явно. Иначе свойство {@code scooter.site}
+ * выбирает реальный сайт ({@code remote}, по умолчанию) или локальную копию ({@code local}),
+ * которая однократно на JVM поднимается из снимка {@code snapshots/<scooter.snapshot>}
+ */
+public final class Site {
+    public static final String REMOTE_URL = "https://qa-scooter.praktikum-services.ru";
+
+    private Site() {
+    }
+
+    /**
+     * Возвращает адрес главной страницы без завершающего слэша
+     */
+    public static String baseUrl() {
+        String configured = System.getProperty("scooter.baseUrl");
+        if (configured != null) {
+            return configured.replaceAll("/+$", "");
+        }
+        if ("local".equals(System.getProperty("scooter.site", "remote"))) {
+            return LocalHolder.SERVER.getBaseUrl();
+        }
+        return REMOTE_URL;
+    }
+
+    private static final class LocalHolder {
+        private static final LocalSiteServer SERVER = LocalSiteServer.startShared();
+    }
+}
@@ -0,0 +1,123 @@
+package site;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Записывает снимок сайта (HTML, сценарии, стили и связанные ресурсы) для локального воспроизведения.
+ * <p>
+ * Запуск: {@code java site.SiteRecorder [адрес сайта] [версия снимка]}.
+ * Снимок сохраняется в {@code snapshots/<версия>}, а имя версии записывается в {@code snapshots/LATEST}.
+ * Абсолютные ссылки на записываемый сайт в текстовых ресурсах заменяются относительными,
+ * чтобы запросы к API попадали в заглушки локального сервера
+ */
+public class SiteRecorder {
+    static final String LATEST_FILE = "LATEST";
+
+    private static final Pattern HTML_REFERENCE = Pattern.compile("(?:src|href)=\"(/[^\"#?]+)\"");
+    private static final Pattern ASSET_REFERENCE = Pattern.compile("[\"'(]/?(static/[^\"'()\\s?#]+)");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+    private final String origin;
+    private final Path target;
+
+    public SiteRecorder(String origin, Path target) {
+        this.origin = origin.replaceAll("/+$", "");
+        this.target = target;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String origin = args.length > 0 ? args[0] : Site.REMOTE_URL;
+        String version = args.length > 1 ? args[1] : LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path snapshots = Paths.get(System.getProperty("scooter.snapshot.dir", "snapshots"));
+
+        int count = new SiteRecorder(origin, snapshots.resolve(version)).record();
+        Files.write(snapshots.resolve(LATEST_FILE), version.getBytes(StandardCharsets.UTF_8));
+        System.out.println("Записано файлов: " + count + " в " + snapshots.resolve(version).toAbsolutePath());
+    }
+
+    /**
+     * Обходит главную страницу и все найденные в ней ресурсы
+     * @return Число записанных файлов
+     */
+    public int record() throws IOException, InterruptedException {
+        Deque<String> queue = new ArrayDeque<>();
+        Set<String> visited = new LinkedHashSet<>();
+        Set<String> recorded = new LinkedHashSet<>();
+        Files.createDirectories(this.target);
+        queue.add("/index.html");
+        queue.add("/manifest.json");
+        queue.add("/favicon.ico");
+
+        while (!queue.isEmpty()) {
+            String path = queue.poll();
+            if (!visited.add(path)) {
+                continue;
+            }
+            String remotePath = path.equals("/index.html") ? "/" : path;
+            HttpResponse<byte[]> response = this.client.send(
+                    HttpRequest.newBuilder(URI.create(this.origin + remotePath)).GET().build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                continue;
+            }
+            byte[] body = response.body();
+            if (isText(path)) {
+                String text = new String(body, StandardCharsets.UTF_8);
+                collectReferences(text, queue);
+                body = text.replace(this.origin, "").getBytes(StandardCharsets.UTF_8);
+            }
+            Path file = this.target.resolve(path.substring(1));
+            Files.createDirectories(file.getParent());
+            Files.write(file, body);
+            recorded.add(path);
+        }
+
+        Properties manifest = new Properties();
+        manifest.setProperty("source", this.origin);
+        manifest.setProperty("recordedAt", LocalDateTime.now().toString());
+        manifest.setProperty("files", String.join(",", recorded));
+        try (Writer out = Files.newBufferedWriter(this.target.resolve("snapshot.properties"), StandardCharsets.UTF_8)) {
+            manifest.store(out, "Снимок сайта для локального воспроизведения");
+        }
+        return recorded.size();
+    }
+
+    private static void collectReferences(String text, Deque<String> queue) {
+        Matcher html = HTML_REFERENCE.matcher(text);
+        while (html.find()) {
+            if (!html.group(1).startsWith("//")) {
+                queue.add(html.group(1));
+            }
+        }
+        Matcher asset = ASSET_REFERENCE.matcher(text);
+        while (asset.find()) {
+            queue.add("/" + asset.group(1));
+        }
+    }
+
+    private static boolean isText(String path) {
+        return path.endsWith(".html") || path.endsWith(".js") || path.endsWith(".css") || path.endsWith(".json");
+    }
+}
@@ -1,12 +1,14 @@
 package ui;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
 import pageObjects.MainPage;
-import org.junit.After;
+import runner.BrowserRule;
+import site.Site;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
+
+import java.net.URI;
 
 import static org.junit.Assert.assertTrue;
 
@@ -14,21 +16,19 @@ import static org.junit.Assert.assertTrue;
  * Тесты для проверки корректности ссылок логотипов на главной странице
  */
 public class MainPageLinksTests {
+    @Rule
+    public final BrowserRule browser = new BrowserRule();
+
     private WebDriver driver;
-    private final String pageUrl = "https://qa-scooter.praktikum-services.ru";
+    private final String pageUrl = Site.baseUrl();
     private final String expectedYandexUrl = "//yandex.ru";
-    private final String expectedScooterUrl = "//qa-scooter.praktikum-services.ru";
+    // Логотип Самоката ведет на главную страницу тестируемого сайта, в том числе его локальной копии
+    private final String expectedScooterUrl = "//" + URI.create(this.pageUrl).getAuthority();
 
     @Before
     public void setup() {
-        WebDriverManager.chromedriver().setup();
-        this.driver = new ChromeDriver();
-        this.driver.get(this.pageUrl);
-    }
-
-    @After
-    public void cleanup() {
-        this.driver.quit();
+        this.driver = this.browser.getDriver();
+        new MainPage(this.driver).open(this.pageUrl);
     }
 
     /**
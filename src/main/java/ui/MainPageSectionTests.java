@@ -1,26 +1,46 @@
 package ui;
 
 import pageObjects.MainPage;
-import io.github.bonigarcia.wdm.WebDriverManager;
-import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
+import runner.BrowserRule;
+import runner.ParallelParameterized;
+import runner.TestImpact;
+import site.Site;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.hamcrest.MatcherAssert;
 
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.junit.Assert.fail;
 
 /**
  * Тестирование секции "Вопросы о важном" на главной странице
  */
-@RunWith(Parameterized.class)
+@RunWith(ParallelParameterized.class)
 public class MainPageSectionTests {
+    /**
+     * Пакетный режим: страница загружается один раз, а все секции считываются за один проход.
+     * Отключается свойством {@code scooter.faq.batch=false}
+     */
+    private static final boolean BATCH_MODE = Boolean.parseBoolean(System.getProperty("scooter.faq.batch", "true"));
+    private static List<MainPage.Section> batchSections;
+    // Ошибка пакетного чтения; повторяется во всех тестах вместо повторной загрузки страницы
+    private static RuntimeException batchFailure;
+    // Методы и локаторы страницы, затронутые пакетным чтением; засчитываются каждому тесту
+    private static final Set<String> BATCH_SYMBOLS = ConcurrentHashMap.newKeySet();
+
+    @Rule
+    public final BrowserRule browser = new BrowserRule();
+
     private WebDriver driver;
-    private final String pageUrl = "https://qa-scooter.praktikum-services.ru";
+    private final String pageUrl = Site.baseUrl();
     private final int sectionIndex;
     private final String expectedHeader;
     private final String expectedContent;
@@ -56,14 +76,10 @@ public class MainPageSectionTests {
 
     @Before
     public void setup() {
-        WebDriverManager.chromedriver().setup();
-        this.driver = new ChromeDriver();
-        this.driver.get(this.pageUrl);
-    }
-
-    @After
-    public void cleanup() {
-        this.driver.quit();
+        if (!BATCH_MODE) {
+            this.driver = this.browser.getDriver();
+            new MainPage(this.driver).open(this.pageUrl);
+        }
     }
 
     /**
@@ -71,26 +87,75 @@ public class MainPageSectionTests {
      */
     @Test
     public void verifySectionContent() {
-        MainPage mainPage = new MainPage(this.driver);
-
-        mainPage.acceptCookies();
-        mainPage.expandSection(this.sectionIndex);
-        mainPage.waitForSectionContent(this.sectionIndex);
+        MainPage.Section section;
+        if (BATCH_MODE) {
+            List<MainPage.Section> sections = loadAllSections(this.browser, this.pageUrl);
+            TestImpact.credit(BATCH_SYMBOLS);
+            if (this.sectionIndex >= sections.size()) {
+                fail("Секция #" + this.sectionIndex + " не найдена");
+            }
+            section = sections.get(this.sectionIndex);
+        } else {
+            section = readSection();
+        }
 
-        if (mainPage.isSectionContentVisible(this.sectionIndex)) {
+        if (section.isContentVisible()) {
             MatcherAssert.assertThat(
                     "Неверный текст заголовка для секции #" + this.sectionIndex,
                     this.expectedHeader,
-                    equalTo(mainPage.getSectionHeaderText(this.sectionIndex))
+                    equalTo(section.getHeader())
             );
             MatcherAssert.assertThat(
                     "Неверное содержимое секции #" + this.sectionIndex,
                     this.expectedContent,
-                    equalTo(mainPage.getSectionContent(this.sectionIndex))
+                    equalTo(section.getContent())
             );
         }
         else {
             fail("Секция #" + this.sectionIndex + " не загрузилась");
         }
     }
+
+    /**
+     * Раскрывает и считывает только проверяемую секцию
+     */
+    private MainPage.Section readSection() {
+        MainPage mainPage = new MainPage(this.driver);
+
+        mainPage.acceptCookies();
+        mainPage.expandSection(this.sectionIndex);
+        mainPage.waitForSectionContent(this.sectionIndex);
+
+        return mainPage.readSection(this.sectionIndex);
+    }
+
+    /**
+     * Однократно загружает страницу и считывает все секции для всех наборов параметров.
+     * Сессия берется у правила первого выполняемого теста, поэтому на пакет распространяются
+     * материалы падения и учет длительности этого теста.
+     * Если чтение не удалось, та же ошибка выдается всем тестам без повторной загрузки
+     */
+    private static synchronized List<MainPage.Section> loadAllSections(BrowserRule browser, String pageUrl) {
+        if (batchFailure != null) {
+            throw batchFailure;
+        }
+        if (batchSections == null) {
+            try {
+                WebDriver driver = browser.getDriver();
+                MainPage mainPage = new MainPage(driver);
+                mainPage.open(pageUrl);
+                TestImpact.shareWith(BATCH_SYMBOLS);
+                try {
+                    mainPage.acceptCookies();
+                    batchSections = mainPage.readAllSections();
+                } finally {
+                    TestImpact.endSharing();
+                }
+            } catch (RuntimeException e) {
+                batchFailure = e;
+                throw e;
+            }
+        }
+        return batchSections;
+    }
 }
\ No newline at end of file
@@ -1,28 +1,37 @@
 package ui;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
-import org.openqa.selenium.chrome.ChromeDriver;
+import model.Order;
 import pageObjects.MainPage;
 import pageObjects.OrderPage;
 import org.hamcrest.MatcherAssert;
-import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
+import runner.BrowserRule;
+import runner.ParallelParameterized;
+import site.Site;
 import org.openqa.selenium.WebDriver;
 
 import static org.hamcrest.CoreMatchers.containsString;
 
 /**
- * Тестирование полного потока успешного оформления заказа
+ * Тестирование полного потока успешного оформления заказа.
+ * <p>
+ * Каждый случай проходит поток целиком: общая часть (загрузка страницы, cookies, первый шаг формы)
+ * не разделяется между случаями, так как состояние формы существует только в памяти приложения —
+ * после перехода ко второму шагу его нельзя сохранить и восстановить для другого варианта, а повтор
+ * первого шага после восстановления адреса формы обходится не дешевле полного прохода
  */
-@RunWith(Parameterized.class)
+@RunWith(ParallelParameterized.class)
 public class OrderPageTests {
+    @Rule
+    public final BrowserRule browser = new BrowserRule();
+
     private WebDriver driver;
-    private final String pageUrl = "https://qa-scooter.praktikum-services.ru";
-    private final String name, surname, address, metroStation, phoneNumber;
-    private final String deliveryDate, rentalPeriod, scooterColor, comment;
+    private final String pageUrl = Site.baseUrl();
+    private final Order order;
     private final String expectedSuccessMessage = "Заказ оформлен";
 
     /**
@@ -39,15 +48,8 @@ public class OrderPageTests {
             String scooterColor,
             String comment
     ) {
-        this.name = name;
-        this.surname = surname;
-        this.address = address;
-        this.metroStation = metroStation;
-        this.phoneNumber = phoneNumber;
-        this.deliveryDate = deliveryDate;
-        this.rentalPeriod = rentalPeriod;
-        this.scooterColor = scooterColor;
-        this.comment = comment;
+        this.order = new Order(name, surname, address, metroStation, phoneNumber,
+                deliveryDate, rentalPeriod, scooterColor, comment);
     }
 
     /**
@@ -65,14 +67,8 @@ public class OrderPageTests {
 
     @Before
     public void setup() {
-        WebDriverManager.chromedriver().setup();
-        this.driver = new ChromeDriver();
-        this.driver.get(pageUrl);
-    }
-
-    @After
-    public void cleanup() {
-        this.driver.quit();
+        this.driver = this.browser.getDriver();
+        new MainPage(this.driver).open(pageUrl);
     }
 
     /**
@@ -118,21 +114,7 @@ public class OrderPageTests {
      */
     private void completeOrderForm(OrderPage orderPage) {
         orderPage.waitForFormToLoad();
-
-        // Заполнение информации о клиенте
-        orderPage.enterName(this.name);
-        orderPage.enterSurname(this.surname);
-        orderPage.enterAddress(this.address);
-        orderPage.selectMetroStation(this.metroStation);
-        orderPage.enterPhoneNumber(this.phoneNumber);
-        orderPage.clickContinueButton();
-
-        // Заполнение информации об аренде
-        orderPage.setDeliveryDate(this.deliveryDate);
-        orderPage.selectRentalPeriod(this.rentalPeriod);
-        orderPage.chooseScooterColor(this.scooterColor);
-        orderPage.addComment(this.comment);
-
+        orderPage.fillOrder(this.order);
         orderPage.confirmOrder();
     }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package ui;
+
+import api.OrderApiClient;
+import model.Order;
+import pageObjects.TrackPage;
+import runner.BrowserRule;
+import site.Site;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.openqa.selenium.WebDriver;
+
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Тестирование страницы статуса заказа.
+ * Заказ создается через API, без прохождения формы
+ */
+public class TrackPageTests {
+    @Rule
+    public final BrowserRule browser = new BrowserRule();
+
+    private WebDriver driver;
+    private final String pageUrl = Site.baseUrl();
+    private final OrderApiClient orderApi = new OrderApiClient(this.pageUrl);
+    private final Order order = new Order("Клава", "Птичкина", "Москва, ул. Дорожная, д. 12, кв. 34", "Сокол",
+            "81234567890", "01.05.2023", "четверо суток", "чёрный жемчуг", "Коммент!");
+    private int track;
+
+    @Before
+    public void setup() {
+        this.track = this.orderApi.createOrder(this.order);
+        this.driver = this.browser.getDriver();
+    }
+
+    @After
+    public void cleanup() {
+        // Заказ не создан, если подготовка упала раньше
+        if (this.track != 0) {
+            this.orderApi.cancelOrder(this.track);
+        }
+    }
+
+    /**
+     * Проверяет, что страница статуса показывает данные созданного заказа
+     */
+    @Test
+    public void verifyCreatedOrderIsShown() {
+        TrackPage trackPage = new TrackPage(this.driver);
+
+        trackPage.open(this.pageUrl, this.track);
+        trackPage.waitForOrderInfo();
+
+        assertTrue("Сведения о заказе #" + this.track + " не отображаются", trackPage.isOrderInfoVisible());
+        assertThat(
+                "Страница статуса не содержит имя и фамилию заказчика",
+                trackPage.getOrderValues(),
+                hasItems(this.order.getName(), this.order.getSurname())
+        );
+    }
+}